@@ -1,8 +1,245 @@
 package com.chess.PGN;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.nio.ByteBuffer;
+
 public class FenUtilities {
 
+    // indexed like the piece bitboards, white pieces first in PieceType order
+    private static final String PIECE_CHARS = "PNBQKRpnbqkr";
+    private static final String CASTLING_CHARS = "KQkq";
+    private static final int[] CASTLING_RIGHTS = {SearchPosition.WHITE_KING_SIDE, SearchPosition.WHITE_QUEEN_SIDE,
+            SearchPosition.BLACK_KING_SIDE, SearchPosition.BLACK_QUEEN_SIDE};
+
     private FenUtilities() {
         throw new RuntimeException("Not Instantiable!");
     }
+
+    public static Board createGameFromFEN(final CharSequence fen) {
+        return createGameFromFEN(fen, 0, fen.length());
+    }
+
+    // parses the FEN held in the ASCII bytes between the buffer's position and limit, leaving both untouched
+    public static Board createGameFromFEN(final ByteBuffer buffer) {
+        return createGameFromFEN(new AsciiSequence(buffer), 0, buffer.remaining());
+    }
+
+    // the fields are walked in place rather than split, so a parse allocates nothing beyond the board itself;
+    // the clocks are optional, as they are in EPD records
+    public static Board createGameFromFEN(final CharSequence fen, final int start, final int end) {
+        final int placementStart = skipSpaces(fen, start, end);
+        final int placementEnd = skipField(fen, placementStart, end);
+
+        int i = skipSpaces(fen, placementEnd, end);
+        final Alliance sideToMove = parseSideToMove(fen, i, skipField(fen, i, end), start, end);
+        i = skipSpaces(fen, skipField(fen, i, end), end);
+
+        int castlingRights = 0;
+        final int castlingEnd = skipField(fen, i, end);
+        for (; i < castlingEnd; i++) {
+            final int index = CASTLING_CHARS.indexOf(fen.charAt(i));
+            if (index >= 0) castlingRights |= CASTLING_RIGHTS[index];
+            else if (fen.charAt(i) != '-') throw invalid(fen, start, end, "castling rights");
+        }
+        i = skipSpaces(fen, castlingEnd, end);
+
+        final int enPassantSquare = parseSquare(fen, i, skipField(fen, i, end), start, end);
+        i = skipSpaces(fen, skipField(fen, i, end), end);
+
+        final int halfMoveClock = i < end ? parseNumber(fen, i, skipField(fen, i, end), start, end) : 0;
+        i = skipSpaces(fen, skipField(fen, i, end), end);
+        final int fullMoveNumber = i < end ? parseNumber(fen, i, skipField(fen, i, end), start, end) : 1;
+
+        final Board.Builder builder = new Board.Builder();
+        final int enPassantPawnSquare = enPassantSquare == SearchPosition.NO_SQUARE ? SearchPosition.NO_SQUARE
+                : enPassantSquare - BoardUtils.NUM_TILES_ROW * sideToMove.getDirection();
+        boolean enPassantPawnFound = false;
+        int square = 0;
+        int rankEnd = BoardUtils.NUM_TILES_ROW;
+        for (i = placementStart; i < placementEnd; i++) {
+            final char c = fen.charAt(i);
+            if (c == '/') {
+                if (square != rankEnd) throw invalid(fen, start, end, "piece placement");
+                rankEnd += BoardUtils.NUM_TILES_ROW;
+                continue;
+            }
+            if (c >= '1' && c <= '8') {
+                square += c - '0';
+                if (square > rankEnd) throw invalid(fen, start, end, "piece placement");
+                continue;
+            }
+            if (square >= rankEnd) throw invalid(fen, start, end, "piece placement");
+            final Piece piece = createPiece(c, square, castlingRights);
+            if (piece == null) throw invalid(fen, start, end, "piece placement");
+            builder.setPiece(piece);
+            if (square == enPassantPawnSquare && piece.getPieceType() == PieceType.PAWN && piece.getPieceAlliance() != sideToMove) {
+                builder.setEnPassantPawn((Pawn) piece);
+                enPassantPawnFound = true;
+            }
+            square++;
+        }
+        if (square != BoardUtils.NUM_TILES || rankEnd != BoardUtils.NUM_TILES) throw invalid(fen, start, end, "piece placement");
+        if (enPassantSquare != SearchPosition.NO_SQUARE && !enPassantPawnFound) throw invalid(fen, start, end, "en passant square");
+
+        builder.setNextMoveMaker(sideToMove);
+        builder.setMoveCounters(halfMoveClock, fullMoveNumber);
+        return builder.build();
+    }
+
+    public static String createFENFromGame(final Board board) {
+        return appendFEN(board, new StringBuilder(90)).toString();
+    }
+
+    // lets callers writing many positions reuse one builder
+    public static StringBuilder appendFEN(final Board board, final StringBuilder sb) {
+        for (int row = 0; row < BoardUtils.NUM_TILES_ROW; row++) {
+            int emptySquares = 0;
+            for (int col = 0; col < BoardUtils.NUM_TILES_ROW; col++) {
+                final Piece piece = board.getTile(row * BoardUtils.NUM_TILES_ROW + col).getPiece();
+                if (piece == null) {
+                    emptySquares++;
+                    continue;
+                }
+                if (emptySquares > 0) sb.append((char) ('0' + emptySquares));
+                emptySquares = 0;
+                sb.append(pieceChar(piece));
+            }
+            if (emptySquares > 0) sb.append((char) ('0' + emptySquares));
+            if (row < BoardUtils.NUM_TILES_ROW - 1) sb.append('/');
+        }
+
+        sb.append(' ').append(board.getCurrentPlayer().getAlliance().isWhite() ? 'w' : 'b').append(' ');
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == 0) sb.append('-');
+        for (int i = 0; i < CASTLING_RIGHTS.length; i++) {
+            if ((castlingRights & CASTLING_RIGHTS[i]) != 0) sb.append(CASTLING_CHARS.charAt(i));
+        }
+
+        sb.append(' ');
+        final int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare == SearchPosition.NO_SQUARE) {
+            sb.append('-');
+        } else {
+            sb.append((char) ('a' + enPassantSquare % BoardUtils.NUM_TILES_ROW))
+              .append((char) ('8' - enPassantSquare / BoardUtils.NUM_TILES_ROW));
+        }
+        return sb.append(' ').append(board.getHalfMoveClock()).append(' ').append(board.getFullMoveNumber());
+    }
+
+    private static char pieceChar(final Piece piece) {
+        return PIECE_CHARS.charAt(BitBoards.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()));
+    }
+
+    // Board has no castling flags of its own, it reads them off unmoved kings and rooks
+    private static Piece createPiece(final char c, final int square, final int castlingRights) {
+        final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+        final boolean white = alliance.isWhite();
+        final int kingSide = white ? SearchPosition.WHITE_KING_SIDE : SearchPosition.BLACK_KING_SIDE;
+        final int queenSide = white ? SearchPosition.WHITE_QUEEN_SIDE : SearchPosition.BLACK_QUEEN_SIDE;
+        switch (Character.toLowerCase(c)) {
+            case 'p':
+                return Piece.createPiece(PieceType.PAWN, alliance, square,
+                        white ? BoardUtils.SECOND_RANK[square] : BoardUtils.SEVENTH_RANK[square]);
+            case 'n':
+                return Piece.createPiece(PieceType.KNIGHT, alliance, square, true);
+            case 'b':
+                return Piece.createPiece(PieceType.BISHOP, alliance, square, true);
+            case 'q':
+                return Piece.createPiece(PieceType.QUEEN, alliance, square, true);
+            case 'k':
+                return Piece.createPiece(PieceType.KING, alliance, square,
+                        square == (white ? 60 : 4) && (castlingRights & (kingSide | queenSide)) != 0);
+            case 'r':
+                return Piece.createPiece(PieceType.ROOK, alliance, square, square == (white ? 63 : 7) && (castlingRights & kingSide) != 0
+                        || square == (white ? 56 : 0) && (castlingRights & queenSide) != 0);
+            default:
+                return null;
+        }
+    }
+
+    private static Alliance parseSideToMove(final CharSequence fen, final int from, final int to, final int start, final int end) {
+        if (to - from == 1 && fen.charAt(from) == 'w') return Alliance.WHITE;
+        if (to - from == 1 && fen.charAt(from) == 'b') return Alliance.BLACK;
+        throw invalid(fen, start, end, "side to move");
+    }
+
+    private static int parseSquare(final CharSequence fen, final int from, final int to, final int start, final int end) {
+        if (to - from == 1 && fen.charAt(from) == '-' || from == to) return SearchPosition.NO_SQUARE;
+        final char file = fen.charAt(from);
+        final char rank = to - from == 2 ? fen.charAt(from + 1) : 0;
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') throw invalid(fen, start, end, "en passant square");
+        return ('8' - rank) * BoardUtils.NUM_TILES_ROW + (file - 'a');
+    }
+
+    private static int parseNumber(final CharSequence fen, final int from, final int to, final int start, final int end) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            final char c = fen.charAt(i);
+            if (c < '0' || c > '9') throw invalid(fen, start, end, "move counter");
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int skipSpaces(final CharSequence fen, int i, final int end) {
+        while (i < end && Character.isWhitespace(fen.charAt(i))) i++;
+        return i;
+    }
+
+    private static int skipField(final CharSequence fen, int i, final int end) {
+        while (i < end && !Character.isWhitespace(fen.charAt(i))) i++;
+        return i;
+    }
+
+    private static IllegalArgumentException invalid(final CharSequence fen, final int start, final int end, final String field) {
+        return new IllegalArgumentException("Invalid " + field + " in FEN: " + fen.subSequence(start, end));
+    }
+
+    // views ASCII bytes as chars without decoding them into a String first
+    private static final class AsciiSequence implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        AsciiSequence(final ByteBuffer buffer) {
+            this(buffer, buffer.position(), buffer.remaining());
+        }
+
+        private AsciiSequence(final ByteBuffer buffer, final int offset, final int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (this.buffer.get(this.offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new AsciiSequence(this.buffer, this.offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(this.length);
+            for (int i = 0; i < this.length; i++) sb.append(charAt(i));
+            return sb.toString();
+        }
+    }
 }
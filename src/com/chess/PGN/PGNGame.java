@@ -0,0 +1,134 @@
+package com.chess.PGN;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PGNGame {
+
+    private final long offset;
+    private final byte[] text;
+    private final Supplier<Map<String, String>> tags;
+    private final Supplier<List<String>> moveText;
+    private final Supplier<List<Move>> moves;
+    private volatile Board finalBoard;
+
+    // holds the raw bytes only; tags, SAN and resolved moves are parsed on first use, on whichever thread asks
+    PGNGame(final long offset, final byte[] text) {
+        this.offset = offset;
+        this.text = text;
+        this.tags = Suppliers.memoize(this::parseTags);
+        this.moveText = Suppliers.memoize(() -> PGNUtilities.parseMoveText(new String(this.text, moveTextStart(),
+                this.text.length - moveTextStart(), StandardCharsets.ISO_8859_1)));
+        this.moves = Suppliers.memoize(this::resolveMoves);
+    }
+
+    public static PGNGame parse(final String text) {
+        return new PGNGame(0, text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    // byte offset of the game in its file
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public Map<String, String> getTags() {
+        return this.tags.get();
+    }
+
+    public String getTag(final String name) {
+        return getTags().get(name);
+    }
+
+    public String getResult() {
+        final String result = getTag("Result");
+        return result == null ? "*" : result;
+    }
+
+    public List<String> getMoveText() {
+        return this.moveText.get();
+    }
+
+    public List<Move> getMoves() {
+        return this.moves.get();
+    }
+
+    // the start position, or the one given by the FEN tag for games set up from a position
+    public Board getStartBoard() {
+        final String fen = getTag("FEN");
+        return fen == null ? Board.createStandardBoard() : FenUtilities.createGameFromFEN(fen);
+    }
+
+    // the position after the last move, kept from resolving the moves rather than replayed
+    public Board getFinalBoard() {
+        getMoves();
+        return this.finalBoard;
+    }
+
+    private List<Move> resolveMoves() {
+        final ImmutableList.Builder<Move> moves = ImmutableList.builder();
+        Board board = getStartBoard();
+        for (final String san : getMoveText()) {
+            final Move move;
+            try {
+                move = PGNUtilities.createMove(board, san);
+            } catch (final ParsePGNException e) {
+                throw new ParsePGNException("Game at byte " + this.offset + ": " + e.getMessage(), e);
+            }
+            moves.add(move);
+            board = move.execute();
+        }
+        this.finalBoard = board;
+        return moves.build();
+    }
+
+    private Map<String, String> parseTags() {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        int i = 0;
+        while ((i = skipSpaces(i)) < this.text.length && this.text[i] == '[') {
+            final int nameStart = ++i;
+            while (i < this.text.length && this.text[i] > ' ' && this.text[i] != '"') i++;
+            final String name = new String(this.text, nameStart, i - nameStart, StandardCharsets.ISO_8859_1);
+            while (i < this.text.length && this.text[i] != '"' && this.text[i] != '\n') i++;
+
+            final StringBuilder value = new StringBuilder();
+            if (i < this.text.length && this.text[i] == '"') {
+                for (i++; i < this.text.length && this.text[i] != '"' && this.text[i] != '\n'; i++) {
+                    if (this.text[i] == '\\' && i + 1 < this.text.length) i++;
+                    value.append((char) (this.text[i] & 0xFF));
+                }
+            }
+            while (i < this.text.length && this.text[i] != '\n') i++;
+            tags.put(name, value.toString());
+        }
+        return ImmutableMap.copyOf(tags);
+    }
+
+    // first byte after the tag section
+    private int moveTextStart() {
+        int i = skipSpaces(0);
+        while (i < this.text.length && this.text[i] == '[') {
+            while (i < this.text.length && this.text[i] != '\n') i++;
+            i = skipSpaces(i);
+        }
+        return i;
+    }
+
+    private int skipSpaces(int i) {
+        while (i < this.text.length && (this.text[i] & 0xFF) <= ' ') i++;
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return getTag("White") + " - " + getTag("Black") + " " + getResult();
+    }
+}
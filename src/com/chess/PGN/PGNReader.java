@@ -0,0 +1,175 @@
+package com.chess.PGN;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class PGNReader implements Iterable<PGNGame>, Closeable {
+
+    // a window is remapped at the start of the game that runs past it, so no game may be longer than this
+    private static final int WINDOW_SIZE = 1 << 26;
+    // games handed to another thread at a time when streaming in parallel
+    private static final int BATCH_SIZE = 256;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public PGNReader(final File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        this.position = 0;
+        mapWindow(0);
+    }
+
+    // games are read one at a time from the mapped file, so memory use does not grow with the size of the database
+    @Override
+    public Iterator<PGNGame> iterator() {
+        return new Iterator<PGNGame>() {
+            private PGNGame next = readGame();
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public PGNGame next() {
+                if (this.next == null) throw new NoSuchElementException();
+                final PGNGame game = this.next;
+                this.next = readGame();
+                return game;
+            }
+        };
+    }
+
+    // with parallel set, batches of games are split off to the common pool, where their tags and moves get parsed
+    public Stream<PGNGame> stream(final boolean parallel) {
+        return StreamSupport.stream(new GameSpliterator(), parallel);
+    }
+
+    public synchronized PGNGame readGame() {
+        try {
+            long start = skipSpaces(this.position);
+            if (start >= this.fileSize) return null;
+            long end = findGameEnd(start);
+            if (end < 0) {
+                mapWindow(start);
+                end = findGameEnd(start);
+                if (end < 0) throw new ParsePGNException("Game at byte " + start + " is longer than " + WINDOW_SIZE + " bytes");
+            }
+
+            final byte[] text = new byte[(int) (end - start)];
+            for (int i = 0; i < text.length; i++) text[i] = this.window.get((int) (start - this.windowStart) + i);
+            this.position = end;
+            return new PGNGame(start, text);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // a game ends where the next tag section starts, once some movetext has been seen; -1 if that is past the window
+    private long findGameEnd(final long start) {
+        final long windowEnd = this.windowStart + this.window.limit();
+        boolean seenMoveText = false;
+        long lineStart = start;
+        while (lineStart < this.fileSize) {
+            if (lineStart >= windowEnd) return -1;
+            final long firstChar = skipBlanks(lineStart, windowEnd);
+            if (firstChar >= windowEnd) return firstChar >= this.fileSize ? this.fileSize : -1;
+            final byte b = byteAt(firstChar);
+            if (b == '[' && seenMoveText) return lineStart;
+            if (b != '[' && b != '\n' && b != '\r' && b != '%') seenMoveText = true;
+
+            long lineEnd = firstChar;
+            while (lineEnd < windowEnd && byteAt(lineEnd) != '\n') lineEnd++;
+            if (lineEnd >= windowEnd) return lineEnd >= this.fileSize ? this.fileSize : -1;
+            lineStart = lineEnd + 1;
+        }
+        return this.fileSize;
+    }
+
+    private long skipBlanks(long i, final long windowEnd) {
+        while (i < windowEnd && (byteAt(i) == ' ' || byteAt(i) == '\t')) i++;
+        return i;
+    }
+
+    private long skipSpaces(long i) throws IOException {
+        while (i < this.fileSize) {
+            if (i >= this.windowStart + this.window.limit()) mapWindow(i);
+            if ((byteAt(i) & 0xFF) > ' ') break;
+            i++;
+        }
+        return i;
+    }
+
+    private byte byteAt(final long i) {
+        return this.window.get((int) (i - this.windowStart));
+    }
+
+    private void mapWindow(final long start) throws IOException {
+        this.windowStart = start;
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, this.fileSize - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private class GameSpliterator implements Spliterator<PGNGame> {
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super PGNGame> action) {
+            final PGNGame game = readGame();
+            if (game == null) return false;
+            action.accept(game);
+            return true;
+        }
+
+        @Override
+        public Spliterator<PGNGame> trySplit() {
+            final PGNGame[] batch = new PGNGame[BATCH_SIZE];
+            int size = 0;
+            for (PGNGame game; size < BATCH_SIZE && (game = readGame()) != null; ) batch[size++] = game;
+            return size == 0 ? null : Spliterators.spliterator(batch, 0, size, characteristics());
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    // usage: PGNReader file.pgn [parallel]; replays every game and reports throughput
+    public static void main(String... args) throws IOException {
+        final boolean parallel = args.length > 1 && args[1].equals("parallel");
+        final long startTime = System.currentTimeMillis();
+        try (final PGNReader reader = new PGNReader(new File(args[0]))) {
+            final long[] counts = reader.stream(parallel)
+                    .map(game -> new long[] {1, game.getMoves().size()})
+                    .reduce(new long[2], (a, b) -> new long[] {a[0] + b[0], a[1] + b[1]});
+            final long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            System.out.println(counts[0] + " games, " + counts[1] + " plies in " + elapsed + "ms ("
+                    + counts[0] * 1000 / elapsed + " games/s)");
+        }
+    }
+}
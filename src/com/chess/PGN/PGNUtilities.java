@@ -0,0 +1,139 @@
+package com.chess.PGN;
+
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.player.Player;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public class PGNUtilities {
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long RANK_8 = 0xFFL;
+
+    private PGNUtilities() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    // splits movetext into SAN tokens, dropping move numbers, comments, variations, NAGs and the result
+    public static List<String> parseMoveText(final CharSequence moveText) {
+        final ImmutableList.Builder<String> moves = ImmutableList.builder();
+        final int length = moveText.length();
+        int variationDepth = 0;
+        int i = 0;
+        while (i < length) {
+            final char c = moveText.charAt(i);
+            if (c == '{') {
+                while (i < length && moveText.charAt(i) != '}') i++;
+                i++;
+            } else if (c == ';') {
+                while (i < length && moveText.charAt(i) != '\n') i++;
+            } else if (c == '(') {
+                variationDepth++;
+                i++;
+            } else if (c == ')') {
+                variationDepth--;
+                i++;
+            } else if (Character.isWhitespace(c) || c == '.') {
+                i++;
+            } else {
+                final int start = i;
+                while (i < length && !isTokenEnd(moveText.charAt(i))) i++;
+                if (variationDepth == 0 && isMoveToken(moveText, start, i)) {
+                    moves.add(moveText.subSequence(start, i).toString());
+                }
+            }
+        }
+        return moves.build();
+    }
+
+    private static boolean isTokenEnd(final char c) {
+        return Character.isWhitespace(c) || c == '.' || c == '{' || c == '(' || c == ')' || c == ';';
+    }
+
+    // move numbers, NAGs ($n) and results are the tokens that do not start with a letter, apart from castling
+    // written with zeros, which differs from the 0-1 result in its third character
+    private static boolean isMoveToken(final CharSequence text, final int start, final int end) {
+        final char c = text.charAt(start);
+        return Character.isLetter(c)
+                || c == '0' && end - start >= 3 && text.charAt(start + 1) == '-' && text.charAt(start + 2) == '0';
+    }
+
+    // resolves standard algebraic notation such as "Nbd7", "exd8=Q+" or "O-O" against the legal moves of the board
+    public static Move createMove(final Board board, final String san) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) end--;
+        final String notation = san.substring(0, end).replace('0', 'O');
+
+        final Player player = board.getCurrentPlayer();
+        if (notation.equals("O-O") || notation.equals("O-O-O")) {
+            final int kingSquare = player.getKing().getPiecePosition();
+            final Move move = player.getMoveIndex().get(kingSquare, kingSquare + (notation.length() == 3 ? 2 : -2), null);
+            if (move == null || !move.isCastlingMove()) throw new ParsePGNException("Illegal castling " + san + " in\n" + board);
+            return move;
+        }
+
+        PieceType promotionType = null;
+        int last = notation.length();
+        if (last > 0 && isPromotionLetter(notation.charAt(last - 1))) {
+            promotionType = pieceType(notation.charAt(last - 1));
+            last--;
+            if (last > 0 && notation.charAt(last - 1) == '=') last--;
+        }
+        if (last < 2) throw new ParsePGNException("Unreadable move " + san);
+
+        final int destination = square(notation.charAt(last - 2), notation.charAt(last - 1));
+        final PieceType movedType = Character.isUpperCase(notation.charAt(0)) ? pieceType(notation.charAt(0)) : PieceType.PAWN;
+        if (destination < 0 || movedType == null) throw new ParsePGNException("Unreadable move " + san);
+
+        // the sources that can reach the destination, narrowed by piece type and any file or rank given
+        long sources = player.getMoveIndex().getSources(destination) & board.getPieceBitBoard(player.getAlliance(), movedType);
+        for (int i = movedType == PieceType.PAWN ? 0 : 1; i < last - 2; i++) {
+            final char c = notation.charAt(i);
+            if (c >= 'a' && c <= 'h') sources &= FILE_A << (c - 'a');
+            else if (c >= '1' && c <= '8') sources &= RANK_8 << ('8' - c) * BoardUtils.NUM_TILES_ROW;
+        }
+        if (sources == BitBoards.EMPTY) throw new ParsePGNException("Illegal move " + san + " in\n" + board);
+        if (Long.bitCount(sources) > 1) throw new ParsePGNException("Ambiguous move " + san + " in\n" + board);
+
+        final Move move = player.getMoveIndex().get(BitBoards.firstSquare(sources), destination, promotionType);
+        if (move == null || promotionType(move) != promotionType) {
+            throw new ParsePGNException("Illegal move " + san + " in\n" + board);
+        }
+        return move;
+    }
+
+    private static PieceType promotionType(final Move move) {
+        return move instanceof Move.PawnPromotion ? ((Move.PawnPromotion) move).getPromotionType() : null;
+    }
+
+    private static boolean isPromotionLetter(final char c) {
+        return c == 'Q' || c == 'R' || c == 'B' || c == 'N';
+    }
+
+    private static PieceType pieceType(final char c) {
+        switch (c) {
+            case 'N':
+                return PieceType.KNIGHT;
+            case 'B':
+                return PieceType.BISHOP;
+            case 'R':
+                return PieceType.ROOK;
+            case 'Q':
+                return PieceType.QUEEN;
+            case 'K':
+                return PieceType.KING;
+            default:
+                return null;
+        }
+    }
+
+    private static int square(final char file, final char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') return -1;
+        return ('8' - rank) * BoardUtils.NUM_TILES_ROW + (file - 'a');
+    }
+}
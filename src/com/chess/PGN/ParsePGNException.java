@@ -0,0 +1,14 @@
+package com.chess.PGN;
+
+public class ParsePGNException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ParsePGNException(final String message) {
+        super(message);
+    }
+
+    public ParsePGNException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
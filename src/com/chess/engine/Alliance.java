@@ -32,6 +32,11 @@ public enum Alliance {
             return BoardUtils.EIGHTH_RANK[pos];
         }
 
+        @Override
+        public Alliance opposite() {
+            return BLACK;
+        }
+
         @Override
         public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
             return whitePlayer;
@@ -63,6 +68,11 @@ public enum Alliance {
             return BoardUtils.FIRST_RANK[pos];
         }
 
+        @Override
+        public Alliance opposite() {
+            return WHITE;
+        }
+
         @Override
         public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
             return blackPlayer;
@@ -74,6 +84,7 @@ public enum Alliance {
     public abstract boolean isWhite();
     public abstract boolean isBlack();
     public abstract boolean isPawnPromotionSquare(int pos);
+    public abstract Alliance opposite();
 
 
     public abstract Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer);
@@ -0,0 +1,95 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public class BitBoards {
+
+    // bit i of every mask is tile i, so a8 is the lowest bit and h1 the highest
+    public static final long EMPTY = 0L;
+    public static final long ALL_SQUARES = ~0L;
+
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+    public static final int NUM_PIECE_BOARDS = NUM_PIECE_TYPES * Alliance.values().length;
+
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    static {
+        initLines();
+    }
+
+    private BitBoards() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long squareBit(final int square) {
+        return 1L << square;
+    }
+
+    public static boolean isSet(final long bitBoard, final int square) {
+        return (bitBoard & (1L << square)) != 0;
+    }
+
+    public static int firstSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static long clearFirstSquare(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    public static int count(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    // squares strictly between two aligned squares, empty if they share no rank, file or diagonal
+    public static long between(final int from, final int to) {
+        return BETWEEN[from][to];
+    }
+
+    // the whole rank, file or diagonal through two aligned squares, empty if they are not aligned
+    public static long line(final int from, final int to) {
+        return LINE[from][to];
+    }
+
+    public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    private static void initLines() {
+        final int[][] directions = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (final int[] d : directions) {
+                long ray = EMPTY, backward = EMPTY;
+                int row = from / BoardUtils.NUM_TILES_ROW - d[0], col = from % BoardUtils.NUM_TILES_ROW - d[1];
+                while (isOnBoard(row, col)) {
+                    backward |= squareBit(row * BoardUtils.NUM_TILES_ROW + col);
+                    row -= d[0];
+                    col -= d[1];
+                }
+
+                row = from / BoardUtils.NUM_TILES_ROW + d[0];
+                col = from % BoardUtils.NUM_TILES_ROW + d[1];
+                while (isOnBoard(row, col)) {
+                    final int to = row * BoardUtils.NUM_TILES_ROW + col;
+                    BETWEEN[from][to] = ray;
+                    ray |= squareBit(to);
+                    row += d[0];
+                    col += d[1];
+                }
+
+                final long line = ray | backward | squareBit(from);
+                long squares = ray;
+                while (squares != EMPTY) {
+                    LINE[from][firstSquare(squares)] = line;
+                    squares = clearFirstSquare(squares);
+                }
+            }
+        }
+    }
+
+    private static boolean isOnBoard(final int row, final int col) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_ROW && col >= 0 && col < BoardUtils.NUM_TILES_ROW;
+    }
+}
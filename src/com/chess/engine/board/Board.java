@@ -5,6 +5,8 @@ import com.chess.engine.pieces.*;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 
 import java.util.*;
@@ -13,47 +15,117 @@ public class Board {
 
     private final List<Tile> gameBoard;
 
+    private final long[] pieceBitBoards;
+    private final long whiteOccupancy, blackOccupancy;
+
     private final Collection<Piece> whitePieces, blackPieces;
 
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
+    private final int enPassantSquare;
+    private final int castlingRights;
+    private final long zobristKey;
+    private final int halfMoveClock;
+    private final int fullMoveNumber;
+    private final Supplier<SearchPosition> searchPosition;
 
     private Board(Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = getActivePieces(gameBoard, Alliance.WHITE);
-        this.blackPieces = getActivePieces(gameBoard, Alliance.BLACK);
-        this.enPassantPawn = builder.enPassantPawn;
+        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
+        final List<Piece> white = new ArrayList<>(), black = new ArrayList<>();
+        this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BOARDS];
+        long whiteBits = BitBoards.EMPTY, blackBits = BitBoards.EMPTY;
+
+        for (int i = 0; i < tiles.length; i++) {
+            final Piece p = builder.boardConfig.get(i);
+            tiles[i] = Tile.createTile(i, p);
+            if (p == null) continue;
+
+            final long bit = BitBoards.squareBit(i);
+            this.pieceBitBoards[BitBoards.pieceIndex(p.getPieceAlliance(), p.getPieceType())] |= bit;
+            if (p.getPieceAlliance().isWhite()) {
+                white.add(p);
+                whiteBits |= bit;
+            } else {
+                black.add(p);
+                blackBits |= bit;
+            }
+        }
 
-        final Collection<Move>
-                whiteLegalMoves = calculateLegalMoves(this.whitePieces),
-                blackLegalMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves);
+        this.gameBoard = ImmutableList.copyOf(tiles);
+        this.whitePieces = ImmutableList.copyOf(white);
+        this.blackPieces = ImmutableList.copyOf(black);
+        this.whiteOccupancy = whiteBits;
+        this.blackOccupancy = blackBits;
+        this.enPassantPawn = builder.enPassantPawn;
+        this.enPassantSquare = this.enPassantPawn == null ? SearchPosition.NO_SQUARE
+                : this.enPassantPawn.getPiecePosition() - BoardUtils.NUM_TILES_ROW * this.enPassantPawn.getPieceAlliance().getDirection();
+        this.castlingRights = castlingRight(tiles, SearchPosition.WHITE_KING_START, 63, SearchPosition.WHITE_KING_SIDE)
+                | castlingRight(tiles, SearchPosition.WHITE_KING_START, 56, SearchPosition.WHITE_QUEEN_SIDE)
+                | castlingRight(tiles, SearchPosition.BLACK_KING_START, 7, SearchPosition.BLACK_KING_SIDE)
+                | castlingRight(tiles, SearchPosition.BLACK_KING_START, 0, SearchPosition.BLACK_QUEEN_SIDE);
+        this.halfMoveClock = builder.halfMoveClock;
+        this.fullMoveNumber = builder.fullMoveNumber;
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey
+                : Zobrist.computeKey(this.pieceBitBoards, builder.nextMoveMaker, this.castlingRights, this.enPassantSquare);
+        this.searchPosition = Suppliers.memoize(() -> SearchPosition.fromBoard(this));
+
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
     }
 
+    private static int castlingRight(final Tile[] tiles, final int kingSquare, final int rookSquare, final int right) {
+        final Piece king = tiles[kingSquare].getPiece();
+        final Piece rook = tiles[rookSquare].getPiece();
+        return king != null && king.getPieceType() == Piece.PieceType.KING && king.isFirstMove()
+                && rook != null && rook.getPieceType() == Piece.PieceType.ROOK && rook.isFirstMove()
+                && rook.getPieceAlliance() == king.getPieceAlliance() ? right : 0;
+    }
+
     public Pawn getEnPassantPawn() {
         return this.enPassantPawn;
     }
 
-    private Collection<Move> calculateLegalMoves(Collection<Piece> pieces) {
-        List<Move> legalMoves = new ArrayList<>();
-        for (Piece p : pieces) {
-            legalMoves.addAll(p.calculateLegalMoves(this));
-        }
+    // the square a capturing pawn would land on, NO_SQUARE when the last move was not a pawn jump
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
 
-        return ImmutableList.copyOf(legalMoves);
+    public int getCastlingRights() {
+        return this.castlingRights;
     }
 
-    private static Collection<Piece> getActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        List<Piece> pieces = new ArrayList<>();
-        for (Tile t : gameBoard) {
-            if (t.isTileOccupied() && t.getPiece().getPieceAlliance() == alliance)
-                pieces.add(t.getPiece());
-        }
-        return ImmutableList.copyOf(pieces);
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    // plies since the last capture or pawn move, for the fifty move rule
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    public int getFullMoveNumber() {
+        return this.fullMoveNumber;
+    }
+
+    // the generator only reads the shared position, it is never made or unmade, so both players can use it
+    public void generateLegalMoves(final Alliance alliance, final MoveList moves) {
+        MoveGenerator.generateLegalMoves(this.searchPosition.get(), alliance, moves);
+    }
+
+    public boolean hasLegalMove(final Alliance alliance) {
+        return MoveGenerator.hasLegalMove(this.searchPosition.get(), alliance);
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker) {
+        return SquareAttacks.isSquareAttacked(this.pieceBitBoards, square, attacker, getOccupancy());
+    }
+
+    // attackers of either colour
+    public long attackersOf(final int square) {
+        return SquareAttacks.attackersOf(this.pieceBitBoards, square, getOccupancy());
     }
 
     public WhitePlayer getWhitePlayer() {
@@ -68,49 +140,42 @@ public class Board {
         return blackPlayer;
     }
 
-    private List<Tile> createGameBoard(final Builder builder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-        for (int i = 0; i < tiles.length; i++)
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
-        return ImmutableList.copyOf(tiles);
-    }
-
     public static Board createStandardBoard() {
         Builder builder = new Builder();
         // black pieces
-        builder.setPiece(new Rook(0, Alliance.BLACK));
-        builder.setPiece(new Knight(1, Alliance.BLACK));
-        builder.setPiece(new Bishop(2, Alliance.BLACK));
-        builder.setPiece(new Queen(3, Alliance.BLACK));
-        builder.setPiece(new King(4, Alliance.BLACK));
-        builder.setPiece(new Bishop(5, Alliance.BLACK));
-        builder.setPiece(new Knight(6, Alliance.BLACK));
-        builder.setPiece(new Rook(7, Alliance.BLACK));
-        builder.setPiece(new Pawn(8, Alliance.BLACK));
-        builder.setPiece(new Pawn(9, Alliance.BLACK));
-        builder.setPiece(new Pawn(10, Alliance.BLACK));
-        builder.setPiece(new Pawn(11, Alliance.BLACK));
-        builder.setPiece(new Pawn(12, Alliance.BLACK));
-        builder.setPiece(new Pawn(13, Alliance.BLACK));
-        builder.setPiece(new Pawn(14, Alliance.BLACK));
-        builder.setPiece(new Pawn(15, Alliance.BLACK));
-
-        builder.setPiece(new Pawn(48, Alliance.WHITE));
-        builder.setPiece(new Pawn(49, Alliance.WHITE));
-        builder.setPiece(new Pawn(50, Alliance.WHITE));
-        builder.setPiece(new Pawn(51, Alliance.WHITE));
-        builder.setPiece(new Pawn(52, Alliance.WHITE));
-        builder.setPiece(new Pawn(53, Alliance.WHITE));
-        builder.setPiece(new Pawn(54, Alliance.WHITE));
-        builder.setPiece(new Pawn(55, Alliance.WHITE));
-        builder.setPiece(new Rook(56, Alliance.WHITE));
-        builder.setPiece(new Knight(57, Alliance.WHITE));
-        builder.setPiece(new Bishop(58, Alliance.WHITE));
-        builder.setPiece(new Queen(59, Alliance.WHITE));
-        builder.setPiece(new King(60, Alliance.WHITE));
-        builder.setPiece(new Bishop(61, Alliance.WHITE));
-        builder.setPiece(new Knight(62, Alliance.WHITE));
-        builder.setPiece(new Rook(63, Alliance.WHITE));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.ROOK, Alliance.BLACK, 0, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.KNIGHT, Alliance.BLACK, 1, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.BISHOP, Alliance.BLACK, 2, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.QUEEN, Alliance.BLACK, 3, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.KING, Alliance.BLACK, 4, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.BISHOP, Alliance.BLACK, 5, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.KNIGHT, Alliance.BLACK, 6, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.ROOK, Alliance.BLACK, 7, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 8, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 9, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 10, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 11, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 12, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 13, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 14, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.BLACK, 15, true));
+
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 48, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 49, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 50, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 51, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 52, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 53, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 54, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.PAWN, Alliance.WHITE, 55, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.ROOK, Alliance.WHITE, 56, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.KNIGHT, Alliance.WHITE, 57, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.BISHOP, Alliance.WHITE, 58, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.QUEEN, Alliance.WHITE, 59, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.KING, Alliance.WHITE, 60, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.BISHOP, Alliance.WHITE, 61, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.KNIGHT, Alliance.WHITE, 62, true));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.ROOK, Alliance.WHITE, 63, true));
 
         builder.setNextMoveMaker(Alliance.WHITE);
         return builder.build();
@@ -128,6 +193,35 @@ public class Board {
         return blackPieces;
     }
 
+    public long getPieceBitBoard(final Alliance alliance, final Piece.PieceType pieceType) {
+        return this.pieceBitBoards[BitBoards.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Board)) return false;
+        final Board board = (Board) other;
+        return this.zobristKey == board.zobristKey
+                && this.currentPlayer.getAlliance() == board.currentPlayer.getAlliance()
+                && this.castlingRights == board.castlingRights
+                && this.enPassantSquare == board.enPassantSquare
+                && Arrays.equals(this.pieceBitBoards, board.pieceBitBoards);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.zobristKey);
+    }
 
     @Override
     public String toString() {
@@ -154,9 +248,13 @@ public class Board {
         Map<Integer, Piece> boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        Long zobristKey;
+        int halfMoveClock;
+        int fullMoveNumber;
 
         public Builder() {
             this.boardConfig = new HashMap<>();
+            this.fullMoveNumber = 1;
         }
 
         public Builder setPiece(final Piece p) {
@@ -176,5 +274,17 @@ public class Board {
         public void setEnPassantPawn(Pawn movedPawn) {
             this.enPassantPawn = movedPawn;
         }
+
+        public Builder setMoveCounters(final int halfMoveClock, final int fullMoveNumber) {
+            this.halfMoveClock = halfMoveClock;
+            this.fullMoveNumber = fullMoveNumber;
+            return this;
+        }
+
+        // moves already know the key of the board they produce, left unset the board hashes itself from scratch
+        Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
     }
 }
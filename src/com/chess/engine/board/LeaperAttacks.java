@@ -0,0 +1,72 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+public class LeaperAttacks {
+
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = initAttacks(KNIGHT_STEPS);
+    private static final long[] KING_ATTACKS = initAttacks(KING_STEPS);
+    private static final long[][] PAWN_ATTACKS = new long[][] {
+            initAttacks(new int[][] {{Alliance.WHITE.getDirection(), -1}, {Alliance.WHITE.getDirection(), 1}}),
+            initAttacks(new int[][] {{Alliance.BLACK.getDirection(), -1}, {Alliance.BLACK.getDirection(), 1}})
+    };
+    private static final long[][] PAWN_PUSHES = new long[][] {
+            initAttacks(new int[][] {{Alliance.WHITE.getDirection(), 0}}),
+            initAttacks(new int[][] {{Alliance.BLACK.getDirection(), 0}})
+    };
+    private static final long[][] PAWN_JUMPS = new long[][] {
+            initJumps(Alliance.WHITE, BoardUtils.SECOND_RANK),
+            initJumps(Alliance.BLACK, BoardUtils.SEVENTH_RANK)
+    };
+
+    private LeaperAttacks() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long knightAttacks(final int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(final int square) {
+        return KING_ATTACKS[square];
+    }
+
+    public static long pawnAttacks(final Alliance alliance, final int square) {
+        return PAWN_ATTACKS[alliance.ordinal()][square];
+    }
+
+    public static long pawnPushes(final Alliance alliance, final int square) {
+        return PAWN_PUSHES[alliance.ordinal()][square];
+    }
+
+    public static long pawnJumps(final Alliance alliance, final int square) {
+        return PAWN_JUMPS[alliance.ordinal()][square];
+    }
+
+    private static long[] initAttacks(final int[][] steps) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int sq = 0; sq < BoardUtils.NUM_TILES; sq++) {
+            final int row = sq / BoardUtils.NUM_TILES_ROW, col = sq % BoardUtils.NUM_TILES_ROW;
+            for (final int[] step : steps) {
+                final int r = row + step[0], c = col + step[1];
+                if (r >= 0 && r < BoardUtils.NUM_TILES_ROW && c >= 0 && c < BoardUtils.NUM_TILES_ROW) {
+                    attacks[sq] |= BitBoards.squareBit(r * BoardUtils.NUM_TILES_ROW + c);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static long[] initJumps(final Alliance alliance, final boolean[] startRank) {
+        final long[] jumps = new long[BoardUtils.NUM_TILES];
+        for (int sq = 0; sq < BoardUtils.NUM_TILES; sq++) {
+            if (startRank[sq]) {
+                jumps[sq] = BitBoards.squareBit(sq + 2 * BoardUtils.NUM_TILES_ROW * alliance.getDirection());
+            }
+        }
+        return jumps;
+    }
+}
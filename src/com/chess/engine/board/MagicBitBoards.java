@@ -0,0 +1,135 @@
+package com.chess.engine.board;
+
+public class MagicBitBoards {
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    // found offline for the a8 = 0 square order used by Board
+    private static final long[] ROOK_MAGICS = {
+            0x6080004000B086A0L, 0x0440200010004006L, 0x4100081043002000L, 0x0180100008008044L,
+            0x1480040002080080L, 0x0900080100040052L, 0xC880020001000080L, 0x0100002040810002L,
+            0x08028001804000A0L, 0x820A002900408204L, 0x3202001242002480L, 0x0400800800801000L,
+            0x2400800800040080L, 0x0140808002000400L, 0x0804007201100804L, 0x0143000041000082L,
+            0x400680800068C008L, 0x41D0004040002000L, 0x0021010020081040L, 0x0102020008211240L,
+            0xA080828004010800L, 0x0024004040020100L, 0x0200040010024188L, 0x008082000882D40DL,
+            0xA000800080204000L, 0x4020100040004020L, 0x0942002200104081L, 0x0010040040400800L,
+            0x0084080100050010L, 0x0C29000300080400L, 0x7000220C00811810L, 0x804904120008A041L,
+            0x2200400020800091L, 0x004A002082004900L, 0x0203190041002000L, 0xC001001001000820L,
+            0x0044008004800800L, 0x0800800400800200L, 0x8000080204000110L, 0x0200800846802B00L,
+            0x0860400020888000L, 0x3010022000424000L, 0x0810080400202001L, 0x0108001000210100L,
+            0x00C1001008010004L, 0x0002000804010100L, 0x2041021068040011L, 0x6200010080420034L,
+            0x80010021C0800300L, 0x0020002040100040L, 0x100E220010804600L, 0xC010040040080040L,
+            0x2008180081040180L, 0x1005000204008900L, 0x8108800100020080L, 0x001300208A004100L,
+            0x098100201C408001L, 0xC3810280400931A1L, 0x000600E108104082L, 0x2420210010002895L,
+            0x0503001410080023L, 0xC001000400020801L, 0x0800103082410804L, 0x4000182084090042L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0440080800A08015L, 0x0810040800802840L, 0x0211114403027144L, 0x00880A0820000080L,
+            0x000403082400002AL, 0xC400821040008A00L, 0x2400680210100088L, 0x1E02020454020812L,
+            0x02001002AA080600L, 0x1048200802408020L, 0x8414108084810700L, 0x0804080A10208109L,
+            0x1008011040100000L, 0x44A8943008080000L, 0x4044040108281EC0L, 0x06088101080104A2L,
+            0x4046001104101400L, 0xC018011181050402L, 0x04C1001005C08504L, 0x2004242202020002L,
+            0x8004000211200000L, 0x300081E100A00100L, 0x2000800218010880L, 0x0114490484008840L,
+            0x4808080A21821010L, 0x7102220420040C00L, 0x0048010088044501L, 0x28C4040000401080L,
+            0x0021010020104000L, 0x0008102002100408L, 0x0822008024040194L, 0x0C0202A001908800L,
+            0x480D041302202028L, 0x0004012008480200L, 0x1000405002284400L, 0x0030240400880120L,
+            0x0490020080001005L, 0x0018081420011000L, 0x00A1412108140410L, 0x0C40810048110401L,
+            0x00020A30C0022461L, 0x8002084C12000400L, 0x1201002088405000L, 0x90000A0166008400L,
+            0x0000408101010210L, 0x01C0880810201040L, 0x01080820C0800408L, 0x0002020200289200L,
+            0x8810620820081000L, 0x041024044C140124L, 0x2000271401040086L, 0xA082020020880000L,
+            0x00C0005002022000L, 0x02000830019A0000L, 0xD011101001004800L, 0x10101011004480A1L,
+            0x0002002401080800L, 0x08B0004402080228L, 0x8504024C22081200L, 0x000C000106105404L,
+            0x0000030110020210L, 0x0108001220220420L, 0x0501202191050100L, 0x0C082008264D0020L
+    };
+
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] ROOK_ATTACKS = initAttacks(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+    private static final long[] BISHOP_ATTACKS = initAttacks(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+    private MagicBitBoards() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long rookAttacks(final int square, final long occupancy) {
+        final int index = (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] + index];
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy) {
+        final int index = (int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + index];
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    private static long[] initAttacks(final int[][] directions, final long[] magics, final long[] masks,
+                                      final int[] shifts, final int[] offsets) {
+        int size = 0;
+        for (int sq = 0; sq < BoardUtils.NUM_TILES; sq++) {
+            masks[sq] = relevantOccupancy(sq, directions);
+            shifts[sq] = Long.SIZE - Long.bitCount(masks[sq]);
+            offsets[sq] = size;
+            size += 1 << Long.bitCount(masks[sq]);
+        }
+
+        final long[] attacks = new long[size];
+        for (int sq = 0; sq < BoardUtils.NUM_TILES; sq++) {
+            // walk every subset of the mask (Carry-Rippler) and store the ray-walked attack set
+            long subset = 0;
+            do {
+                final int index = offsets[sq] + (int) ((subset * magics[sq]) >>> shifts[sq]);
+                final long attack = slidingAttacks(sq, subset, directions);
+                if (attacks[index] != 0 && attacks[index] != attack) {
+                    throw new RuntimeException("Bad magic for square " + sq);
+                }
+                attacks[index] = attack;
+                subset = (subset - masks[sq]) & masks[sq];
+            } while (subset != 0);
+        }
+        return attacks;
+    }
+
+    private static long relevantOccupancy(final int square, final int[][] directions) {
+        long mask = 0;
+        for (final int[] d : directions) {
+            int row = square / BoardUtils.NUM_TILES_ROW + d[0];
+            int col = square % BoardUtils.NUM_TILES_ROW + d[1];
+            // the last square of a ray never blocks anything beyond it, so it is left out of the mask
+            while (isOnBoard(row + d[0], col + d[1])) {
+                mask |= BitBoards.squareBit(row * BoardUtils.NUM_TILES_ROW + col);
+                row += d[0];
+                col += d[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square, final long occupancy, final int[][] directions) {
+        long attacks = 0;
+        for (final int[] d : directions) {
+            int row = square / BoardUtils.NUM_TILES_ROW + d[0];
+            int col = square % BoardUtils.NUM_TILES_ROW + d[1];
+            while (isOnBoard(row, col)) {
+                final long bit = BitBoards.squareBit(row * BoardUtils.NUM_TILES_ROW + col);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) break;
+                row += d[0];
+                col += d[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int col) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_ROW && col >= 0 && col < BoardUtils.NUM_TILES_ROW;
+    }
+}
@@ -2,6 +2,7 @@ package com.chess.engine.board;
 
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.pieces.Rook;
 
 import java.util.Collection;
@@ -55,9 +56,31 @@ public abstract class Move {
 
         builder.setPiece(piece.movePiece(this));
         builder.setNextMoveMaker(board.getCurrentPlayer().getOpponent().getAlliance());
+        builder.setZobristKey(nextZobristKey(SearchPosition.NO_SQUARE));
+        updateMoveCounters(builder);
         return builder.build();
     }
 
+    void updateMoveCounters(final Builder builder) {
+        final boolean resetsClock = this.piece.getPieceType() == PieceType.PAWN || isAttack();
+        builder.setMoveCounters(resetsClock ? 0 : this.board.getHalfMoveClock() + 1,
+                this.board.getFullMoveNumber() + (this.board.getCurrentPlayer().getAlliance().isBlack() ? 1 : 0));
+    }
+
+    // the key of the board this move leads to, updated from the current key by hashing only what the move touches
+    long nextZobristKey(final int enPassantSquare) {
+        final int from = getCurrentCoordinate();
+        long key = this.board.getZobristKey() ^ Zobrist.pieceKey(this.piece, from) ^ Zobrist.pieceKey(this.piece, this.destination);
+        if (isAttack()) {
+            key ^= Zobrist.pieceKey(getAttackedPiece(), getAttackedPiece().getPiecePosition());
+        }
+        final int castlingRights = this.board.getCastlingRights();
+        key ^= Zobrist.castlingKey(castlingRights)
+                ^ Zobrist.castlingKey(SearchPosition.updateCastlingRights(castlingRights, from, this.destination));
+        return key ^ Zobrist.enPassantKey(this.board.getEnPassantSquare()) ^ Zobrist.enPassantKey(enPassantSquare)
+                ^ Zobrist.sideKey();
+    }
+
     public int getCurrentCoordinate() {
         return this.piece.getPiecePosition();
     }
@@ -66,6 +89,15 @@ public abstract class Move {
 
     public boolean isCastlingMove() {return false;}
 
+    public int toPackedMove() {
+        return PackedMove.create(getCurrentCoordinate(), this.destination, packedFlag(), this.piece.getPieceType(),
+                isAttack() ? getAttackedPiece().getPieceType() : null);
+    }
+
+    int packedFlag() {
+        return isAttack() ? PackedMove.CAPTURE : PackedMove.QUIET;
+    }
+
     public Piece getAttackedPiece() {
         return null;
     }
@@ -192,11 +224,21 @@ public abstract class Move {
 
         final Move decoratedMove;
         final Pawn promotedPawn;
+        final PieceType promotionType;
 
         public PawnPromotion(final Move decoratedMove) {
+            this(decoratedMove, PieceType.QUEEN);
+        }
+
+        public PawnPromotion(final Move decoratedMove, final PieceType promotionType) {
             super(decoratedMove.getBoard(), decoratedMove.getPiece(), decoratedMove.getDestination());
             this.decoratedMove = decoratedMove;
             this.promotedPawn = (Pawn) decoratedMove.getPiece();
+            this.promotionType = promotionType;
+        }
+
+        public PieceType getPromotionType() {
+            return this.promotionType;
         }
 
         @Override
@@ -211,8 +253,12 @@ public abstract class Move {
                 builder.setPiece(p);
             }
 
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
-            builder.setNextMoveMaker(pawnMoveBoard.getCurrentPlayer().getOpponent().getAlliance());
+            final Piece promotedPiece = this.promotedPawn.getPromotionPiece(this.promotionType).movePiece(this);
+            builder.setPiece(promotedPiece);
+            builder.setNextMoveMaker(pawnMoveBoard.getCurrentPlayer().getAlliance());
+            builder.setMoveCounters(pawnMoveBoard.getHalfMoveClock(), pawnMoveBoard.getFullMoveNumber());
+            builder.setZobristKey(pawnMoveBoard.getZobristKey() ^ Zobrist.pieceKey(this.promotedPawn, this.destination)
+                    ^ Zobrist.pieceKey(promotedPiece, this.destination));
             return builder.build();
         }
 
@@ -226,6 +272,11 @@ public abstract class Move {
             return decoratedMove.getAttackedPiece();
         }
 
+        @Override
+        int packedFlag() {
+            return PackedMove.promotionFlag(isAttack(), this.promotionType);
+        }
+
         @Override
         public String toString() {
             return "";
@@ -233,12 +284,13 @@ public abstract class Move {
 
         @Override
         public boolean equals(Object other) {
-            return this == other || other instanceof PawnPromotion && super.equals(other);
+            return this == other || other instanceof PawnPromotion && super.equals(other)
+                    && this.promotionType == ((PawnPromotion) other).promotionType;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(super.hashCode(), decoratedMove, promotedPawn);
+            return Objects.hash(super.hashCode(), decoratedMove, promotedPawn, promotionType);
         }
     }
 
@@ -260,14 +312,21 @@ public abstract class Move {
             }
 
             for (Piece p : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                if (!this.piece.equals(this.attackedPiece)) builder.setPiece(p);
+                if (!p.equals(this.attackedPiece)) builder.setPiece(p);
             }
 
             builder.setPiece(this.piece.movePiece(this));
             builder.setNextMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(nextZobristKey(SearchPosition.NO_SQUARE));
+            updateMoveCounters(builder);
             return builder.build();
         }
 
+        @Override
+        int packedFlag() {
+            return PackedMove.EN_PASSANT;
+        }
+
         @Override
         public String toString() {
             return BoardUtils.getPositionAtCoordinate(destination);
@@ -295,9 +354,16 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setNextMoveMaker(board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(nextZobristKey((getCurrentCoordinate() + this.destination) / 2));
+            updateMoveCounters(builder);
             return builder.build();
         }
 
+        @Override
+        int packedFlag() {
+            return PackedMove.PAWN_JUMP;
+        }
+
         @Override
         public String toString() {
             return BoardUtils.getPositionAtCoordinate(destination);
@@ -337,8 +403,11 @@ public abstract class Move {
                 builder.setPiece(p);
 
             builder.setPiece(this.piece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRookDest, this.rook.getPieceAlliance()));
+            builder.setPiece(Piece.createPiece(PieceType.ROOK, this.rook.getPieceAlliance(), this.castleRookDest, false));
             builder.setNextMoveMaker(board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(nextZobristKey(SearchPosition.NO_SQUARE)
+                    ^ Zobrist.pieceKey(this.rook, this.rookStart) ^ Zobrist.pieceKey(this.rook, this.castleRookDest));
+            updateMoveCounters(builder);
             return builder.build();
         }
 
@@ -369,6 +438,11 @@ public abstract class Move {
             return this == other || other instanceof KingSideCastleMove && super.equals(other);
         }
 
+        @Override
+        int packedFlag() {
+            return PackedMove.KING_SIDE_CASTLE;
+        }
+
         @Override
         public String toString() {
             return "0-0";
@@ -385,6 +459,11 @@ public abstract class Move {
             return this == other || other instanceof QueenSideCastleMove && super.equals(other);
         }
 
+        @Override
+        int packedFlag() {
+            return PackedMove.QUEEN_SIDE_CASTLE;
+        }
+
         @Override
         public String toString() {
             return "0-0-0";
@@ -405,6 +484,11 @@ public abstract class Move {
         public int getCurrentCoordinate(){
             return -1;
         }
+
+        @Override
+        public int toPackedMove() {
+            return PackedMove.NONE;
+        }
     }
 
     public static class MoveFactory {
@@ -412,12 +496,44 @@ public abstract class Move {
             throw new RuntimeException("Not Instantiable!");
         }
 
+        // a pawn reaching the last rank promotes to a queen unless another piece is asked for
         public static Move createMove(final Board board, final int currCoord, final int destCoord) {
-            for (Move m : board.getAllLegalMoves()) {
-                if (m.getPiece().getPiecePosition() == currCoord && m.destination == destCoord)
-                    return m;
+            return createMove(board, currCoord, destCoord, PieceType.QUEEN);
+        }
+
+        public static Move createMove(final Board board, final int currCoord, final int destCoord, final PieceType promotionType) {
+            final Move move = board.getCurrentPlayer().getMoveIndex().get(currCoord, destCoord, promotionType);
+            return move != null ? move : NULL_MOVE;
+        }
+
+        public static Move createMove(final Board board, final int packedMove) {
+            final int from = PackedMove.getFrom(packedMove);
+            final int to = PackedMove.getTo(packedMove);
+            final Piece piece = board.getTile(from).getPiece();
+            final Piece attackedPiece = board.getTile(to).getPiece();
+            final int flag = PackedMove.getFlag(packedMove);
+            if (piece == null) return NULL_MOVE;
+            if (flag != PackedMove.EN_PASSANT && PackedMove.isCapture(packedMove) != (attackedPiece != null)) return NULL_MOVE;
+
+            final boolean isPawn = piece.getPieceType() == PieceType.PAWN;
+            switch (flag) {
+                case PackedMove.QUIET:
+                    return isPawn ? new PawnMove(board, piece, to) : new MajorMove(board, piece, to);
+                case PackedMove.CAPTURE:
+                    return isPawn ? new PawnAttackMove(board, piece, to, attackedPiece) : new MajorAttackMove(board, piece, to, attackedPiece);
+                case PackedMove.PAWN_JUMP:
+                    return new PawnJump(board, piece, to);
+                case PackedMove.EN_PASSANT:
+                    return new PawnEnPassantAttackMove(board, piece, to, board.getEnPassantPawn());
+                case PackedMove.KING_SIDE_CASTLE:
+                    return new KingSideCastleMove(board, piece, to, (Rook) board.getTile(to + 1).getPiece(), to + 1, to - 1);
+                case PackedMove.QUEEN_SIDE_CASTLE:
+                    return new QueenSideCastleMove(board, piece, to, (Rook) board.getTile(to - 2).getPiece(), to - 2, to + 1);
+                default:
+                    final Move decoratedMove = attackedPiece == null ? new PawnMove(board, piece, to)
+                            : new PawnAttackMove(board, piece, to, attackedPiece);
+                    return new PawnPromotion(decoratedMove, PackedMove.getPromotionType(packedMove));
             }
-            return NULL_MOVE;
         }
     }
 
@@ -0,0 +1,254 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public class MoveGenerator {
+
+    public static final int MAX_MOVES = 256;
+
+    private static final PieceType[] PIECE_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    private MoveGenerator() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static void generatePseudoLegalMoves(final SearchPosition position, final MoveList moves) {
+        generatePseudoLegalMoves(position, position.getSideToMove(), moves);
+    }
+
+    // en passant is only offered to the side to move, matching Board
+    public static void generatePseudoLegalMoves(final SearchPosition position, final Alliance alliance, final MoveList moves) {
+        moves.clear();
+        generate(position, alliance, moves, false, Integer.MAX_VALUE);
+    }
+
+    public static void generateLegalMoves(final SearchPosition position, final MoveList moves) {
+        generateLegalMoves(position, position.getSideToMove(), moves);
+    }
+
+    // checkers and pinned pieces are worked out up front, so every move emitted here can be made without a trial
+    public static void generateLegalMoves(final SearchPosition position, final Alliance alliance, final MoveList moves) {
+        moves.clear();
+        generate(position, alliance, moves, true, Integer.MAX_VALUE);
+    }
+
+    // captures and queen promotions, the moves a quiescence search follows; quiet underpromotions are left out
+    public static void generateLegalTacticalMoves(final SearchPosition position, final MoveList moves) {
+        generateLegalMoves(position, position.getSideToMove(), moves);
+        int kept = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (PackedMove.isCapture(move) || PackedMove.isPromotion(move) && PackedMove.getPromotionType(move) == PieceType.QUEEN) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    public static int countLegalMoves(final SearchPosition position, final Alliance alliance) {
+        return generate(position, alliance, null, true, Integer.MAX_VALUE);
+    }
+
+    // stops at the first legal move found, king moves first since they are the likeliest escape
+    public static boolean hasLegalMove(final SearchPosition position, final Alliance alliance) {
+        return generate(position, alliance, null, true, 1) > 0;
+    }
+
+    static long attacks(final PieceType type, final int square, final long occupied) {
+        switch (type) {
+            case KNIGHT:
+                return LeaperAttacks.knightAttacks(square);
+            case BISHOP:
+                return MagicBitBoards.bishopAttacks(square, occupied);
+            case ROOK:
+                return MagicBitBoards.rookAttacks(square, occupied);
+            case QUEEN:
+                return MagicBitBoards.queenAttacks(square, occupied);
+            case KING:
+                return LeaperAttacks.kingAttacks(square);
+            default:
+                throw new IllegalArgumentException("Not a piece attack: " + type);
+        }
+    }
+
+    // adds moves to the list when there is one and returns how many were found, giving up once limit is reached
+    private static int generate(final SearchPosition position, final Alliance alliance, final MoveList moves,
+                                final boolean legal, final int limit) {
+        final Alliance opponent = alliance.opposite();
+        final long own = position.getOccupancy(alliance);
+        final long enemy = position.getOccupancy(opponent);
+        final long occupied = own | enemy;
+        final int king = position.getKingSquare(alliance);
+        final long checkers = legal ? position.attackersOf(king, opponent, occupied) : BitBoards.EMPTY;
+
+        int count = 0;
+        long kingTargets = LeaperAttacks.kingAttacks(king) & ~own;
+        while (kingTargets != BitBoards.EMPTY) {
+            final int to = BitBoards.firstSquare(kingTargets);
+            if (!legal || position.attackersOf(to, opponent, occupied ^ BitBoards.squareBit(king)) == BitBoards.EMPTY) {
+                count = addMove(position, king, to, PieceType.KING, moves, count);
+            }
+            kingTargets = BitBoards.clearFirstSquare(kingTargets);
+        }
+        if (count >= limit || BitBoards.count(checkers) > 1) return count;
+
+        final long checkMask = checkers == BitBoards.EMPTY ? BitBoards.ALL_SQUARES
+                : checkers | BitBoards.between(king, BitBoards.firstSquare(checkers));
+        final long pinned = legal ? pinnedPieces(position, alliance, king, occupied) : BitBoards.EMPTY;
+
+        count = generatePawnMoves(position, alliance, king, checkMask, pinned, legal, moves, count);
+        if (count >= limit) return count;
+
+        for (final PieceType type : PIECE_TYPES) {
+            long pieces = position.getPieceBitBoard(alliance, type);
+            while (pieces != BitBoards.EMPTY) {
+                final int from = BitBoards.firstSquare(pieces);
+                long targets = attacks(type, from, occupied) & ~own & allowedTargets(from, king, checkMask, pinned);
+                while (targets != BitBoards.EMPTY) {
+                    count = addMove(position, from, BitBoards.firstSquare(targets), type, moves, count);
+                    targets = BitBoards.clearFirstSquare(targets);
+                }
+                if (count >= limit) return count;
+                pieces = BitBoards.clearFirstSquare(pieces);
+            }
+        }
+
+        if (checkers == BitBoards.EMPTY) {
+            count = generateCastles(position, alliance, moves, count);
+        }
+        return count;
+    }
+
+    private static long allowedTargets(final int from, final int king, final long checkMask, final long pinned) {
+        return BitBoards.isSet(pinned, from) ? checkMask & BitBoards.line(king, from) : checkMask;
+    }
+
+    // own pieces that are the only blocker between the king and an enemy slider on the same line
+    private static long pinnedPieces(final SearchPosition position, final Alliance alliance, final int king, final long occupied) {
+        final Alliance opponent = alliance.opposite();
+        final long enemy = position.getOccupancy(opponent);
+        final long queens = position.getPieceBitBoard(opponent, PieceType.QUEEN);
+        long snipers = (MagicBitBoards.rookAttacks(king, enemy) & (position.getPieceBitBoard(opponent, PieceType.ROOK) | queens))
+                | (MagicBitBoards.bishopAttacks(king, enemy) & (position.getPieceBitBoard(opponent, PieceType.BISHOP) | queens));
+
+        long pinned = BitBoards.EMPTY;
+        while (snipers != BitBoards.EMPTY) {
+            final long blockers = BitBoards.between(king, BitBoards.firstSquare(snipers)) & occupied;
+            if (BitBoards.count(blockers) == 1 && (blockers & position.getOccupancy(alliance)) != BitBoards.EMPTY) {
+                pinned |= blockers;
+            }
+            snipers = BitBoards.clearFirstSquare(snipers);
+        }
+        return pinned;
+    }
+
+    private static int addMove(final SearchPosition position, final int from, final int to, final PieceType type,
+                               final MoveList moves, final int count) {
+        if (moves != null) {
+            final int captured = position.getPieceIndex(to);
+            if (captured == SearchPosition.EMPTY_SQUARE) {
+                moves.add(PackedMove.create(from, to, PackedMove.QUIET, type, null));
+            } else {
+                moves.add(PackedMove.create(from, to, PackedMove.CAPTURE, type, SearchPosition.getPieceType(captured)));
+            }
+        }
+        return count + 1;
+    }
+
+    private static int generatePawnMoves(final SearchPosition position, final Alliance alliance, final int king,
+                                         final long checkMask, final long pinned, final boolean legal,
+                                         final MoveList moves, int count) {
+        final long enemy = position.getOccupancy(alliance.opposite());
+        final long empty = ~position.getOccupancy();
+        final int enPassantSquare = alliance == position.getSideToMove() ? position.getEnPassantSquare() : SearchPosition.NO_SQUARE;
+
+        long pawns = position.getPieceBitBoard(alliance, PieceType.PAWN);
+        while (pawns != BitBoards.EMPTY) {
+            final int from = BitBoards.firstSquare(pawns);
+            final long allowed = allowedTargets(from, king, checkMask, pinned);
+            final long push = LeaperAttacks.pawnPushes(alliance, from) & empty;
+            if (push != BitBoards.EMPTY) {
+                if ((push & allowed) != BitBoards.EMPTY) {
+                    count = addPawnMove(alliance, from, BitBoards.firstSquare(push), null, moves, count);
+                }
+                final long jump = LeaperAttacks.pawnJumps(alliance, from) & empty & allowed;
+                if (jump != BitBoards.EMPTY) {
+                    if (moves != null) {
+                        moves.add(PackedMove.create(from, BitBoards.firstSquare(jump), PackedMove.PAWN_JUMP, PieceType.PAWN, null));
+                    }
+                    count++;
+                }
+            }
+
+            final long attacks = LeaperAttacks.pawnAttacks(alliance, from);
+            long captures = attacks & enemy & allowed;
+            while (captures != BitBoards.EMPTY) {
+                final int to = BitBoards.firstSquare(captures);
+                count = addPawnMove(alliance, from, to, SearchPosition.getPieceType(position.getPieceIndex(to)), moves, count);
+                captures = BitBoards.clearFirstSquare(captures);
+            }
+            if (enPassantSquare != SearchPosition.NO_SQUARE && BitBoards.isSet(attacks, enPassantSquare)
+                    && (!legal || isEnPassantLegal(position, alliance, king, from, enPassantSquare))) {
+                if (moves != null) {
+                    moves.add(PackedMove.create(from, enPassantSquare, PackedMove.EN_PASSANT, PieceType.PAWN, PieceType.PAWN));
+                }
+                count++;
+            }
+            pawns = BitBoards.clearFirstSquare(pawns);
+        }
+        return count;
+    }
+
+    // en passant lifts two pawns off one rank, which masks cannot express, so replay the occupancy instead
+    private static boolean isEnPassantLegal(final SearchPosition position, final Alliance alliance, final int king,
+                                            final int from, final int to) {
+        final long capturedPawn = BitBoards.squareBit(to - BoardUtils.NUM_TILES_ROW * alliance.getDirection());
+        final long occupied = (position.getOccupancy() ^ BitBoards.squareBit(from) ^ capturedPawn) | BitBoards.squareBit(to);
+        return (position.attackersOf(king, alliance.opposite(), occupied) & ~capturedPawn) == BitBoards.EMPTY;
+    }
+
+    private static int addPawnMove(final Alliance alliance, final int from, final int to, final PieceType capturedType,
+                                   final MoveList moves, final int count) {
+        final boolean isCapture = capturedType != null;
+        if (alliance.isPawnPromotionSquare(to)) {
+            if (moves != null) {
+                for (final PieceType promotionType : PROMOTION_TYPES) {
+                    moves.add(PackedMove.create(from, to, PackedMove.promotionFlag(isCapture, promotionType), PieceType.PAWN, capturedType));
+                }
+            }
+            return count + PROMOTION_TYPES.length;
+        }
+        if (moves != null) {
+            moves.add(PackedMove.create(from, to, isCapture ? PackedMove.CAPTURE : PackedMove.QUIET, PieceType.PAWN, capturedType));
+        }
+        return count + 1;
+    }
+
+    private static int generateCastles(final SearchPosition position, final Alliance alliance, final MoveList moves, int count) {
+        final int king = alliance.isWhite() ? SearchPosition.WHITE_KING_START : SearchPosition.BLACK_KING_START;
+        final int kingSide = alliance.isWhite() ? SearchPosition.WHITE_KING_SIDE : SearchPosition.BLACK_KING_SIDE;
+        final int queenSide = alliance.isWhite() ? SearchPosition.WHITE_QUEEN_SIDE : SearchPosition.BLACK_QUEEN_SIDE;
+        final int rights = position.getCastlingRights();
+        if ((rights & (kingSide | queenSide)) == 0) return count;
+
+        final Alliance opponent = alliance.opposite();
+        final long occupied = position.getOccupancy();
+        if (position.isSquareAttacked(king, opponent)) return count;
+
+        if ((rights & kingSide) != 0
+                && (occupied & (BitBoards.squareBit(king + 1) | BitBoards.squareBit(king + 2))) == 0
+                && !position.isSquareAttacked(king + 1, opponent) && !position.isSquareAttacked(king + 2, opponent)) {
+            if (moves != null) moves.add(PackedMove.create(king, king + 2, PackedMove.KING_SIDE_CASTLE, PieceType.KING, null));
+            count++;
+        }
+        if ((rights & queenSide) != 0
+                && (occupied & (BitBoards.squareBit(king - 1) | BitBoards.squareBit(king - 2) | BitBoards.squareBit(king - 3))) == 0
+                && !position.isSquareAttacked(king - 1, opponent) && !position.isSquareAttacked(king - 2, opponent)) {
+            if (moves != null) moves.add(PackedMove.create(king, king - 2, PackedMove.QUEEN_SIDE_CASTLE, PieceType.KING, null));
+            count++;
+        }
+        return count;
+    }
+}
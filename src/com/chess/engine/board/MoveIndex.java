@@ -0,0 +1,71 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Collection;
+
+public final class MoveIndex {
+
+    private static final int KEY_SHIFT = 3;
+
+    // open addressing over keys built from the from square, to square and promotion piece; 0 marks an empty slot
+    private final int[] keys;
+    private final Move[] moves;
+    private final int mask;
+    private final long[] sourcesByDestination;
+
+    public MoveIndex(final Collection<Move> legalMoves) {
+        int capacity = 16;
+        while (capacity < legalMoves.size() * 2) capacity <<= 1;
+        this.keys = new int[capacity];
+        this.moves = new Move[capacity];
+        this.mask = capacity - 1;
+        this.sourcesByDestination = new long[BoardUtils.NUM_TILES];
+
+        for (final Move move : legalMoves) {
+            final int key = key(move.getCurrentCoordinate(), move.getDestination(), promotionType(move));
+            int slot = slot(key);
+            while (this.keys[slot] != 0) slot = (slot + 1) & this.mask;
+            this.keys[slot] = key;
+            this.moves[slot] = move;
+            this.sourcesByDestination[move.getDestination()] |= BitBoards.squareBit(move.getCurrentCoordinate());
+        }
+    }
+
+    // the move between the two squares; promotionType only picks among promotions and is ignored for other moves
+    public Move get(final int from, final int to, final PieceType promotionType) {
+        final Move move = find(key(from, to, null));
+        return move != null || promotionType == null ? move : find(key(from, to, promotionType));
+    }
+
+    public boolean contains(final Move move) {
+        if (move.getPiece() == null) return false;
+        final Move found = find(key(move.getCurrentCoordinate(), move.getDestination(), promotionType(move)));
+        return found != null && (found == move || found.equals(move));
+    }
+
+    // squares holding a piece that can legally move to the destination, so notation like "Nbd7" needs no scan
+    public long getSources(final int destination) {
+        return this.sourcesByDestination[destination];
+    }
+
+    private Move find(final int key) {
+        for (int slot = slot(key); this.keys[slot] != 0; slot = (slot + 1) & this.mask) {
+            if (this.keys[slot] == key) return this.moves[slot];
+        }
+        return null;
+    }
+
+    private int slot(final int key) {
+        return (key * 0x9E3779B9 >>> 16) & this.mask;
+    }
+
+    // the low bits hold the promotion piece plus one, so a plain move never collides with a promotion or with 0
+    private static int key(final int from, final int to, final PieceType promotionType) {
+        return (from * BoardUtils.NUM_TILES + to + 1) << KEY_SHIFT | (promotionType == null ? 0 : promotionType.ordinal() + 1);
+    }
+
+    private static PieceType promotionType(final Move move) {
+        return move instanceof Move.PawnPromotion ? ((Move.PawnPromotion) move).getPromotionType() : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.chess.engine.board;
+
+public class MoveList {
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(MoveGenerator.MAX_MOVES);
+    }
+
+    public MoveList(final int capacity) {
+        this.moves = new int[capacity];
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    // drops every move from the given index on
+    public void truncate(final int size) {
+        this.size = Math.min(this.size, size);
+    }
+
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (PackedMove.getCore(this.moves[i]) == PackedMove.getCore(move)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(PackedMove.toString(this.moves[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+public class PackedMove {
+
+    // bits 0-5 hold the origin square, bits 6-11 the destination and bits 12-15 the flag, which is all
+    // make/unmake needs; bits 16-19 and 20-23 carry the moved and captured piece types (ordinal + 1)
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+    public static final int PROMOTION_CAPTURE = 12;
+
+    public static final int NONE = 0;
+
+    private static final int CAPTURE_BIT = 4;
+    private static final int PROMOTION_BIT = 8;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+
+    private PackedMove() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static int create(final int from, final int to, final int flag) {
+        return from | (to << 6) | (flag << 12);
+    }
+
+    public static int create(final int from, final int to, final int flag,
+                             final PieceType movedType, final PieceType capturedType) {
+        return create(from, to, flag) | typeBits(movedType) << 16 | typeBits(capturedType) << 20;
+    }
+
+    public static int promotionFlag(final boolean isCapture, final PieceType promotionType) {
+        return (isCapture ? PROMOTION_CAPTURE : PROMOTION) | promotionIndex(promotionType);
+    }
+
+    private static int typeBits(final PieceType type) {
+        return type == null ? 0 : type.ordinal() + 1;
+    }
+
+    public static int getFrom(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int getFlag(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static int getCore(final int move) {
+        return move & 0xFFFF;
+    }
+
+    public static PieceType getMovedType(final int move) {
+        final int bits = (move >>> 16) & 0xF;
+        return bits == 0 ? null : PIECE_TYPES[bits - 1];
+    }
+
+    public static PieceType getCapturedType(final int move) {
+        final int bits = (move >>> 20) & 0xF;
+        return bits == 0 ? null : PIECE_TYPES[bits - 1];
+    }
+
+    public static boolean isCapture(final int move) {
+        return (getFlag(move) & CAPTURE_BIT) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (getFlag(move) & PROMOTION_BIT) != 0;
+    }
+
+    public static PieceType getPromotionType(final int move) {
+        return PROMOTION_TYPES[getFlag(move) & 0x3];
+    }
+
+    private static int promotionIndex(final PieceType promotionType) {
+        for (int i = 0; i < PROMOTION_TYPES.length; i++) {
+            if (PROMOTION_TYPES[i] == promotionType) return i;
+        }
+        throw new IllegalArgumentException("Cannot promote to " + promotionType);
+    }
+
+    public static String toString(final int move) {
+        final String text = BoardUtils.getPositionAtCoordinate(getFrom(move)) + BoardUtils.getPositionAtCoordinate(getTo(move));
+        return isPromotion(move) ? text + getPromotionType(move).toString().toLowerCase() : text;
+    }
+}
@@ -0,0 +1,157 @@
+package com.chess.engine.board;
+
+import com.chess.PGN.FenUtilities;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Perft {
+
+    // node counts published on the chess programming wiki, deep enough to reach castling, en passant,
+    // promotions and discovered checks
+    public static final List<ReferencePosition> REFERENCE_POSITIONS = ImmutableList.of(
+            new ReferencePosition("start", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    20L, 400L, 8902L, 197281L, 4865609L, 119060324L),
+            new ReferencePosition("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48L, 2039L, 97862L, 4085603L, 193690690L),
+            new ReferencePosition("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14L, 191L, 2812L, 43238L, 674624L, 11030083L),
+            new ReferencePosition("position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6L, 264L, 9467L, 422333L, 15833292L),
+            new ReferencePosition("position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44L, 1486L, 62379L, 2103487L, 89941194L),
+            new ReferencePosition("position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46L, 2079L, 89890L, 3894594L, 164075551L)
+    );
+
+    private Perft() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    // walks Player.getLegalMoves and Move.execute, the path the GUI and MiniMax's callers go through
+    public static long perft(final Board board, final int depth, final boolean bulk) {
+        if (depth == 0) return 1;
+        final Collection<Move> moves = board.getCurrentPlayer().getLegalMoves();
+        if (bulk && depth == 1) return moves.size();
+
+        long nodes = 0;
+        for (final Move move : moves) {
+            nodes += perft(move.execute(), depth - 1, bulk);
+        }
+        return nodes;
+    }
+
+    public static long perft(final SearchPosition position, final int depth, final boolean bulk) {
+        return perft(position, depth, bulk, createMoveLists(depth));
+    }
+
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            counts.put(PackedMove.toString(move.toPackedMove()), perft(move.execute(), depth - 1, true));
+        }
+        return counts;
+    }
+
+    public static Map<String, Long> divide(final SearchPosition position, final int depth) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        final MoveList[] moveLists = createMoveLists(depth);
+        final MoveList moves = moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            position.makeMove(move);
+            counts.put(PackedMove.toString(move), perft(position, depth - 1, true, moveLists));
+            position.unmakeMove(move);
+        }
+        return counts;
+    }
+
+    private static long perft(final SearchPosition position, final int depth, final boolean bulk, final MoveList[] moveLists) {
+        if (depth == 0) return 1;
+        if (bulk && depth == 1) return MoveGenerator.countLegalMoves(position, position.getSideToMove());
+
+        final MoveList moves = moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += perft(position, depth - 1, bulk, moveLists);
+            position.unmakeMove(moves.get(i));
+        }
+        return nodes;
+    }
+
+    private static MoveList[] createMoveLists(final int depth) {
+        final MoveList[] moveLists = new MoveList[depth + 1];
+        for (int i = 0; i < moveLists.length; i++) moveLists[i] = new MoveList();
+        return moveLists;
+    }
+
+    // usage: Perft [maxDepth] [board|position] [nobulk]
+    public static void main(String... args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        final boolean useBoard = args.length > 1 && args[1].equals("board");
+        final boolean bulk = args.length <= 2 || !args[2].equals("nobulk");
+
+        long totalNodes = 0, totalNanos = 0;
+        for (final ReferencePosition reference : REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            for (int depth = 1; depth <= Math.min(maxDepth, reference.getMaxDepth()); depth++) {
+                final long startTime = System.nanoTime();
+                final long nodes = useBoard ? perft(board, depth, bulk) : perft(SearchPosition.fromBoard(board), depth, bulk);
+                final long elapsed = System.nanoTime() - startTime;
+                totalNodes += nodes;
+                totalNanos += elapsed;
+                System.out.println(String.format("%-12s depth %d  nodes %12d  time %8.3fs  nps %12d",
+                        reference.getName(), depth, nodes, elapsed / 1e9, nodesPerSecond(nodes, elapsed)));
+                if (nodes != reference.getExpectedNodes(depth)) {
+                    throw new RuntimeException("Perft mismatch for " + reference.getName() + " at depth " + depth
+                            + ": expected " + reference.getExpectedNodes(depth) + " but got " + nodes);
+                }
+            }
+        }
+        System.out.println("Total nodes " + totalNodes + ", nps " + nodesPerSecond(totalNodes, totalNanos));
+    }
+
+    private static long nodesPerSecond(final long nodes, final long nanos) {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    public static final class ReferencePosition {
+
+        private final String name;
+        private final String fen;
+        private final long[] expectedNodes;
+
+        ReferencePosition(final String name, final String fen, final long... expectedNodes) {
+            this.name = name;
+            this.fen = fen;
+            this.expectedNodes = expectedNodes;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getFen() {
+            return this.fen;
+        }
+
+        public int getMaxDepth() {
+            return this.expectedNodes.length;
+        }
+
+        public long getExpectedNodes(final int depth) {
+            return this.expectedNodes[depth - 1];
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
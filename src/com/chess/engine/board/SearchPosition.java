@@ -0,0 +1,279 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+public class SearchPosition {
+
+    public static final int MAX_PLY = 256;
+    public static final int NO_SQUARE = -1;
+    public static final int EMPTY_SQUARE = -1;
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    static final int WHITE_KING_START = 60;
+    static final int BLACK_KING_START = 4;
+
+    private static final Alliance[] ALLIANCES = Alliance.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int[] CASTLING_MASKS = initCastlingMasks();
+
+    private final long[] pieceBitBoards;
+    private final long[] occupancy;
+    private final int[] mailbox;
+    private final int[] undoStack;
+    private final long[] keyHistory;
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int ply;
+    private long zobristKey;
+
+    private SearchPosition() {
+        this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BOARDS];
+        this.occupancy = new long[ALLIANCES.length];
+        this.mailbox = new int[BoardUtils.NUM_TILES];
+        this.undoStack = new int[MAX_PLY];
+        this.keyHistory = new long[MAX_PLY];
+        this.enPassantSquare = NO_SQUARE;
+        Arrays.fill(this.mailbox, EMPTY_SQUARE);
+    }
+
+    public static SearchPosition fromBoard(final Board board) {
+        final SearchPosition position = new SearchPosition();
+        for (final Alliance alliance : ALLIANCES) {
+            for (final PieceType type : PIECE_TYPES) {
+                long pieces = board.getPieceBitBoard(alliance, type);
+                while (pieces != BitBoards.EMPTY) {
+                    position.addPiece(BitBoards.pieceIndex(alliance, type), BitBoards.firstSquare(pieces));
+                    pieces = BitBoards.clearFirstSquare(pieces);
+                }
+            }
+        }
+
+        position.sideToMove = board.getCurrentPlayer().getAlliance();
+        position.castlingRights = board.getCastlingRights();
+        position.enPassantSquare = board.getEnPassantSquare();
+        position.zobristKey ^= Zobrist.castlingKey(position.castlingRights) ^ Zobrist.enPassantKey(position.enPassantSquare);
+        if (position.sideToMove.isBlack()) position.zobristKey ^= Zobrist.sideKey();
+        return position;
+    }
+
+    // rights lost by a move touching either square, shared with Move so both representations hash the same rights
+    static int updateCastlingRights(final int castlingRights, final int from, final int to) {
+        return castlingRights & CASTLING_MASKS[from] & CASTLING_MASKS[to];
+    }
+
+    private static int[] initCastlingMasks() {
+        final int[] masks = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(masks, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        masks[WHITE_KING_START] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        masks[63] &= ~WHITE_KING_SIDE;
+        masks[56] &= ~WHITE_QUEEN_SIDE;
+        masks[BLACK_KING_START] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        masks[7] &= ~BLACK_KING_SIDE;
+        masks[0] &= ~BLACK_QUEEN_SIDE;
+        return masks;
+    }
+
+    public long getPieceBitBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoards.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancy[alliance.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.occupancy[0] | this.occupancy[1];
+    }
+
+    public int getPieceIndex(final int square) {
+        return this.mailbox[square];
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public int getKingSquare(final Alliance alliance) {
+        return BitBoards.firstSquare(getPieceBitBoard(alliance, PieceType.KING));
+    }
+
+    public boolean isInCheck() {
+        return isInCheck(this.sideToMove);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        return isSquareAttacked(getKingSquare(alliance), alliance.opposite());
+    }
+
+    public boolean hasLegalMove() {
+        return MoveGenerator.hasLegalMove(this, this.sideToMove);
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker) {
+        return SquareAttacks.isSquareAttacked(this.pieceBitBoards, square, attacker, getOccupancy());
+    }
+
+    // attackers of either colour
+    public long attackersOf(final int square) {
+        return SquareAttacks.attackersOf(this.pieceBitBoards, square, getOccupancy());
+    }
+
+    // sliders are probed against the given occupancy so callers can ask about a position with pieces lifted
+    long attackersOf(final int square, final Alliance attacker, final long occupied) {
+        return SquareAttacks.attackersOf(this.pieceBitBoards, square, attacker, occupied);
+    }
+
+    // returns false, leaving the position untouched, if the move would leave the mover's king in check
+    public boolean makeMove(final int move) {
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int flag = PackedMove.getFlag(move);
+        final Alliance us = this.sideToMove;
+        final int moving = this.mailbox[from];
+        final int captureSquare = flag == PackedMove.EN_PASSANT ? to - BoardUtils.NUM_TILES_ROW * us.getDirection() : to;
+        final int captured = this.mailbox[captureSquare];
+
+        this.undoStack[this.ply] = (captured + 1) | (this.castlingRights << 4) | ((this.enPassantSquare + 1) << 8);
+        this.keyHistory[this.ply] = this.zobristKey;
+
+        if (captured != EMPTY_SQUARE) removePiece(captured, captureSquare);
+        removePiece(moving, from);
+        addPiece(PackedMove.isPromotion(move) ? BitBoards.pieceIndex(us, PackedMove.getPromotionType(move)) : moving, to);
+        if (flag == PackedMove.KING_SIDE_CASTLE) {
+            movePiece(BitBoards.pieceIndex(us, PieceType.ROOK), to + 1, to - 1);
+        } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            movePiece(BitBoards.pieceIndex(us, PieceType.ROOK), to - 2, to + 1);
+        }
+
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare);
+        this.castlingRights = updateCastlingRights(this.castlingRights, from, to);
+        this.enPassantSquare = flag == PackedMove.PAWN_JUMP ? from + BoardUtils.NUM_TILES_ROW * us.getDirection() : NO_SQUARE;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.sideKey();
+        this.sideToMove = us.opposite();
+        this.ply++;
+
+        if (isInCheck(us)) {
+            unmakeMove(move);
+            return false;
+        }
+        return true;
+    }
+
+    public void unmakeMove(final int move) {
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int flag = PackedMove.getFlag(move);
+        final Alliance us = this.sideToMove.opposite();
+
+        this.ply--;
+        final int record = this.undoStack[this.ply];
+        this.sideToMove = us;
+        this.castlingRights = (record >>> 4) & 0xF;
+        this.enPassantSquare = ((record >>> 8) & 0x7F) - 1;
+
+        final int moved = this.mailbox[to];
+        removePiece(moved, to);
+        addPiece(PackedMove.isPromotion(move) ? BitBoards.pieceIndex(us, PieceType.PAWN) : moved, from);
+
+        final int captured = (record & 0xF) - 1;
+        if (captured != EMPTY_SQUARE) {
+            addPiece(captured, flag == PackedMove.EN_PASSANT ? to - BoardUtils.NUM_TILES_ROW * us.getDirection() : to);
+        }
+        if (flag == PackedMove.KING_SIDE_CASTLE) {
+            movePiece(BitBoards.pieceIndex(us, PieceType.ROOK), to - 1, to + 1);
+        } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            movePiece(BitBoards.pieceIndex(us, PieceType.ROOK), to + 1, to - 2);
+        }
+        this.zobristKey = this.keyHistory[this.ply];
+    }
+
+    // passes the turn without moving, for null-move pruning; the side to move must not be in check
+    public void makeNullMove() {
+        this.undoStack[this.ply] = (this.castlingRights << 4) | ((this.enPassantSquare + 1) << 8);
+        this.keyHistory[this.ply] = this.zobristKey;
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.sideKey();
+        this.enPassantSquare = NO_SQUARE;
+        this.sideToMove = this.sideToMove.opposite();
+        this.ply++;
+    }
+
+    public void unmakeNullMove() {
+        this.ply--;
+        this.sideToMove = this.sideToMove.opposite();
+        this.enPassantSquare = ((this.undoStack[this.ply] >>> 8) & 0x7F) - 1;
+        this.zobristKey = this.keyHistory[this.ply];
+    }
+
+    // anything besides king and pawns; without it, passing the turn is often the best move there is
+    public boolean hasPieces(final Alliance alliance) {
+        return (getOccupancy(alliance) & ~getPieceBitBoard(alliance, PieceType.PAWN)
+                & ~getPieceBitBoard(alliance, PieceType.KING)) != BitBoards.EMPTY;
+    }
+
+    private void addPiece(final int pieceIndex, final int square) {
+        final long bit = BitBoards.squareBit(square);
+        this.pieceBitBoards[pieceIndex] |= bit;
+        this.occupancy[pieceIndex / BitBoards.NUM_PIECE_TYPES] |= bit;
+        this.mailbox[square] = pieceIndex;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+    }
+
+    private void removePiece(final int pieceIndex, final int square) {
+        final long bit = BitBoards.squareBit(square);
+        this.pieceBitBoards[pieceIndex] &= ~bit;
+        this.occupancy[pieceIndex / BitBoards.NUM_PIECE_TYPES] &= ~bit;
+        this.mailbox[square] = EMPTY_SQUARE;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+    }
+
+    private void movePiece(final int pieceIndex, final int from, final int to) {
+        removePiece(pieceIndex, from);
+        addPiece(pieceIndex, to);
+    }
+
+    public static Alliance getAlliance(final int pieceIndex) {
+        return ALLIANCES[pieceIndex / BitBoards.NUM_PIECE_TYPES];
+    }
+
+    public static PieceType getPieceType(final int pieceIndex) {
+        return PIECE_TYPES[pieceIndex % BitBoards.NUM_PIECE_TYPES];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final int piece = this.mailbox[i];
+            final String tileText = piece == EMPTY_SQUARE ? "-" : getAlliance(piece).isBlack()
+                    ? getPieceType(piece).toString().toLowerCase() : getPieceType(piece).toString();
+            sb.append(String.format("%3s", tileText));
+            if ((i + 1) % BoardUtils.NUM_TILES_ROW == 0)
+                sb.append("\n");
+        }
+        return sb.toString();
+    }
+}
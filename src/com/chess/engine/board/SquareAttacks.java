@@ -0,0 +1,48 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public class SquareAttacks {
+
+    // every query looks outward from the target square: a piece attacks the square exactly when the same
+    // piece standing on the square would attack it back, with pawns looking the opposite way
+    private SquareAttacks() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static boolean isSquareAttacked(final long[] pieceBitBoards, final int square, final Alliance attacker,
+                                           final long occupied) {
+        return (LeaperAttacks.pawnAttacks(attacker.opposite(), square) & pieces(pieceBitBoards, attacker, PieceType.PAWN)) != 0
+                || (LeaperAttacks.knightAttacks(square) & pieces(pieceBitBoards, attacker, PieceType.KNIGHT)) != 0
+                || (LeaperAttacks.kingAttacks(square) & pieces(pieceBitBoards, attacker, PieceType.KING)) != 0
+                || (MagicBitBoards.bishopAttacks(square, occupied) & diagonalSliders(pieceBitBoards, attacker)) != 0
+                || (MagicBitBoards.rookAttacks(square, occupied) & straightSliders(pieceBitBoards, attacker)) != 0;
+    }
+
+    public static long attackersOf(final long[] pieceBitBoards, final int square, final Alliance attacker,
+                                   final long occupied) {
+        return (LeaperAttacks.pawnAttacks(attacker.opposite(), square) & pieces(pieceBitBoards, attacker, PieceType.PAWN))
+                | (LeaperAttacks.knightAttacks(square) & pieces(pieceBitBoards, attacker, PieceType.KNIGHT))
+                | (LeaperAttacks.kingAttacks(square) & pieces(pieceBitBoards, attacker, PieceType.KING))
+                | (MagicBitBoards.bishopAttacks(square, occupied) & diagonalSliders(pieceBitBoards, attacker))
+                | (MagicBitBoards.rookAttacks(square, occupied) & straightSliders(pieceBitBoards, attacker));
+    }
+
+    public static long attackersOf(final long[] pieceBitBoards, final int square, final long occupied) {
+        return attackersOf(pieceBitBoards, square, Alliance.WHITE, occupied)
+                | attackersOf(pieceBitBoards, square, Alliance.BLACK, occupied);
+    }
+
+    private static long pieces(final long[] pieceBitBoards, final Alliance alliance, final PieceType type) {
+        return pieceBitBoards[BitBoards.pieceIndex(alliance, type)];
+    }
+
+    private static long diagonalSliders(final long[] pieceBitBoards, final Alliance alliance) {
+        return pieces(pieceBitBoards, alliance, PieceType.BISHOP) | pieces(pieceBitBoards, alliance, PieceType.QUEEN);
+    }
+
+    private static long straightSliders(final long[] pieceBitBoards, final Alliance alliance) {
+        return pieces(pieceBitBoards, alliance, PieceType.ROOK) | pieces(pieceBitBoards, alliance, PieceType.QUEEN);
+    }
+}
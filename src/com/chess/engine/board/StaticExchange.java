@@ -0,0 +1,70 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public class StaticExchange {
+
+    // cheapest first, the order in which each side recaptures
+    private static final PieceType[] RECAPTURE_ORDER = {PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP,
+            PieceType.ROOK, PieceType.QUEEN, PieceType.KING};
+    // one gain per capture, and a square can be attacked by at most 16 pieces of each side
+    private static final int MAX_EXCHANGES = 32;
+
+    private StaticExchange() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    // the material the mover expects from the exchange the move starts on its destination, each side recapturing
+    // with its cheapest piece or standing pat when that loses; sliders behind a piece that captures join the
+    // exchange, pins are ignored
+    public static int evaluate(final SearchPosition position, final int move) {
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int[] gain = new int[MAX_EXCHANGES];
+        long occupied = position.getOccupancy() ^ BitBoards.squareBit(from);
+        if (PackedMove.getFlag(move) == PackedMove.EN_PASSANT) {
+            occupied ^= BitBoards.squareBit(to - BoardUtils.NUM_TILES_ROW * position.getSideToMove().getDirection());
+        }
+
+        gain[0] = PackedMove.isCapture(move) ? PackedMove.getCapturedType(move).getValue() : 0;
+        int onSquare = PackedMove.getMovedType(move).getValue();
+        if (PackedMove.isPromotion(move)) {
+            onSquare = PackedMove.getPromotionType(move).getValue();
+            gain[0] += onSquare - PieceType.PAWN.getValue();
+        }
+
+        Alliance side = position.getSideToMove().opposite();
+        int exchanges = 0;
+        while (exchanges + 1 < MAX_EXCHANGES) {
+            final long attackers = position.attackersOf(to, side, occupied) & occupied;
+            if (attackers == BitBoards.EMPTY) break;
+            final PieceType attacker = cheapest(position, side, attackers);
+            final long candidates = attackers & position.getPieceBitBoard(side, attacker);
+            final long attackerBit = candidates & -candidates;
+            // the king may only take the last piece standing on the square
+            if (attacker == PieceType.KING
+                    && (position.attackersOf(to, side.opposite(), occupied ^ attackerBit) & (occupied ^ attackerBit)) != BitBoards.EMPTY) {
+                break;
+            }
+            exchanges++;
+            gain[exchanges] = onSquare - gain[exchanges - 1];
+            onSquare = attacker.getValue();
+            occupied ^= attackerBit;
+            side = side.opposite();
+        }
+
+        while (exchanges > 0) {
+            gain[exchanges - 1] = -Math.max(-gain[exchanges - 1], gain[exchanges]);
+            exchanges--;
+        }
+        return gain[0];
+    }
+
+    private static PieceType cheapest(final SearchPosition position, final Alliance side, final long attackers) {
+        for (final PieceType type : RECAPTURE_ORDER) {
+            if ((attackers & position.getPieceBitBoard(side, type)) != BitBoards.EMPTY) return type;
+        }
+        throw new IllegalStateException("No attacker among " + Long.toHexString(attackers));
+    }
+}
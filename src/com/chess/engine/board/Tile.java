@@ -11,6 +11,7 @@ public abstract class Tile {
     protected final int tileCoordinate;
 
     private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE = createAllEmptyTiles();
+    private static final OccupiedTile[] OCCUPIED_TILES_CACHE = createAllOccupiedTiles();
 
     private static Map<Integer, EmptyTile> createAllEmptyTiles() {
         final Map<Integer, EmptyTile> res = new HashMap<>();
@@ -19,9 +20,26 @@ public abstract class Tile {
         return ImmutableMap.copyOf(res);
     }
 
+    // pieces are flyweights that know their square, so one tile per cached piece covers every occupied tile
+    private static OccupiedTile[] createAllOccupiedTiles() {
+        final OccupiedTile[] tiles = new OccupiedTile[Piece.CACHE_SIZE];
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            for (final Alliance alliance : Alliance.values()) {
+                for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+                    for (final boolean isFirstMove : new boolean[] {true, false}) {
+                        final Piece piece = Piece.createPiece(pieceType, alliance, i, isFirstMove);
+                        tiles[piece.getCacheIndex()] = new OccupiedTile(i, piece);
+                    }
+                }
+            }
+        }
+        return tiles;
+    }
 
     public static Tile createTile(int tileCoordinate, Piece piece) {
-        return piece == null ? EMPTY_TILES_CACHE.get(tileCoordinate) : new OccupiedTile(tileCoordinate, piece);
+        if (piece == null) return EMPTY_TILES_CACHE.get(tileCoordinate);
+        return piece.getPiecePosition() == tileCoordinate ? OCCUPIED_TILES_CACHE[piece.getCacheIndex()]
+                : new OccupiedTile(tileCoordinate, piece);
     }
 
     private Tile(final int tileCoordinate) {
@@ -0,0 +1,69 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Random;
+
+public class Zobrist {
+
+    // fixed seed so keys, and anything stored under them, are the same from one run to the next
+    private static final long SEED = 0x5A0B2157L;
+    private static final int NUM_CASTLING_STATES = 16;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoards.NUM_PIECE_BOARDS][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[NUM_CASTLING_STATES];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_ROW];
+    private static final long SIDE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] keys : PIECE_KEYS) {
+            for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+        }
+        // no rights hashes to zero so a position without castling needs no special case
+        for (int i = 1; i < CASTLING_KEYS.length; i++) CASTLING_KEYS[i] = random.nextLong();
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) EN_PASSANT_KEYS[i] = random.nextLong();
+        SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long pieceKey(final int pieceIndex, final int square) {
+        return PIECE_KEYS[pieceIndex][square];
+    }
+
+    public static long pieceKey(final Piece piece, final int square) {
+        return PIECE_KEYS[BitBoards.pieceIndex(piece.getPieceAlliance(), piece.getPieceType())][square];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    // only the file matters, the rank follows from the side to move
+    public static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == SearchPosition.NO_SQUARE ? 0L : EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILES_ROW];
+    }
+
+    // hashed in whenever black is to move
+    public static long sideKey() {
+        return SIDE_KEY;
+    }
+
+    public static long computeKey(final long[] pieceBitBoards, final Alliance sideToMove,
+                                  final int castlingRights, final int enPassantSquare) {
+        long key = castlingKey(castlingRights) ^ enPassantKey(enPassantSquare);
+        if (sideToMove.isBlack()) key ^= SIDE_KEY;
+        for (int pieceIndex = 0; pieceIndex < pieceBitBoards.length; pieceIndex++) {
+            long pieces = pieceBitBoards[pieceIndex];
+            while (pieces != BitBoards.EMPTY) {
+                key ^= PIECE_KEYS[pieceIndex][BitBoards.firstSquare(pieces)];
+                pieces = BitBoards.clearFirstSquare(pieces);
+            }
+        }
+        return key;
+    }
+}
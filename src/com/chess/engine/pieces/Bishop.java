@@ -3,6 +3,7 @@ package com.chess.engine.pieces;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
@@ -17,16 +18,22 @@ public class Bishop extends Piece {
 
     private static final int[] MOVES = new int[] {-9, -7, 7, 9};
 
-    public Bishop(int piecePosition, Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.BISHOP, true);
-    }
-
-    public Bishop(int piecePosition, Alliance pieceAlliance, boolean isFirstMove) {
+    Bishop(int piecePosition, Alliance pieceAlliance, boolean isFirstMove) {
         super(piecePosition, pieceAlliance, PieceType.BISHOP, isFirstMove);
     }
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        if (SlidingMoveGenerator.getSelected() == SlidingMoveGenerator.MAGIC_BITBOARD)
+            return calculateMagicMoves(board);
+        return calculateRayMoves(board);
+    }
+
+    public Collection<Move> calculateMagicMoves(final Board board) {
+        return calculateMovesFromAttacks(board, MagicBitBoards.bishopAttacks(this.piecePosition, board.getOccupancy()));
+    }
+
+    public Collection<Move> calculateRayMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
         for (int offset : MOVES) {
             int candidatePos = this.piecePosition;
@@ -57,7 +64,7 @@ public class Bishop extends Piece {
 
     @Override
     public Bishop movePiece(Move move) {
-        return new Bishop(move.getDestination(), move.getPiece().getPieceAlliance());
+        return (Bishop) createPiece(PieceType.BISHOP, move.getPiece().getPieceAlliance(), move.getDestination(), false);
     }
 
     private boolean isFirstColumnExclusion(final int currPiecePos, final int offset) {
@@ -1,8 +1,10 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.LeaperAttacks;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -14,86 +16,53 @@ import static com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
 
-    private static final int[] MOVES = new int[] {8, 16, 7, 9};
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
 
-
-    public Pawn(final int piecePosition, final Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.PAWN, true);
-    }
-
-    public Pawn(final int piecePosition, final Alliance pieceAlliance, boolean isFirstMove) {
+    Pawn(final int piecePosition, final Alliance pieceAlliance, boolean isFirstMove) {
         super(piecePosition, pieceAlliance, PieceType.PAWN, isFirstMove);
     }
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final long occupancy = board.getOccupancy();
+
+        final long push = LeaperAttacks.pawnPushes(this.pieceAlliance, this.piecePosition) & ~occupancy;
+        if (push != BitBoards.EMPTY) {
+            final int candidatePos = BitBoards.firstSquare(push);
+            if (this.pieceAlliance.isPawnPromotionSquare(candidatePos)) {
+                for (final PieceType promotionType : PROMOTION_TYPES)
+                    legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidatePos), promotionType));
+            } else {
+                legalMoves.add(new PawnMove(board, this, candidatePos));
+            }
 
-        for (int offset : MOVES) {
-            int candidatePos = this.piecePosition + (offset * this.pieceAlliance.getDirection());
-            if (!BoardUtils.isValidTileCoordinate(candidatePos)) continue;
-
-            if (offset == 8 && !board.getTile(candidatePos).isTileOccupied()) {
-
-                if (this.pieceAlliance.isPawnPromotionSquare(candidatePos)) {
-                    legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidatePos)));
-                } else {
-                    legalMoves.add(new PawnMove(board, this, candidatePos));
-                }
-            } else if (offset == 16 && this.isFirstMove()
-                    && ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack())
-                    || (BoardUtils.SECOND_RANK[piecePosition] && this.pieceAlliance.isWhite()))) {
-
-                final int behindDest = this.piecePosition + (8 * this.pieceAlliance.getDirection());
-                if (!board.getTile(behindDest).isTileOccupied() && !board.getTile(candidatePos).isTileOccupied()) {
-                    legalMoves.add(new PawnJump(board, this, candidatePos));
-                }
-
-            } else if (offset == 7 &&
-                    !((BoardUtils.EIGHTH_COL[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                    (BoardUtils.FIRST_COL[this.piecePosition] && this.pieceAlliance.isBlack())))) {
-
-                if (board.getTile(candidatePos).isTileOccupied()) {
-                    Piece otherPiece = board.getTile(candidatePos).getPiece();
-                    if (otherPiece.pieceAlliance != this.pieceAlliance) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidatePos)) {
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidatePos, otherPiece)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, candidatePos, otherPiece));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-                        if (this.pieceAlliance != board.getEnPassantPawn().pieceAlliance) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidatePos, board.getEnPassantPawn()));
-                        }
-                    }
-                }
-
-            } else if (offset == 9 &&
-                    !((BoardUtils.FIRST_COL[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                      (BoardUtils.EIGHTH_COL[this.piecePosition] && this.pieceAlliance.isBlack())))) {
-
-                if (board.getTile(candidatePos).isTileOccupied()) {
-                    Piece otherPiece = board.getTile(candidatePos).getPiece();
-                    if (otherPiece.pieceAlliance != this.pieceAlliance) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidatePos)) {
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidatePos, otherPiece)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, candidatePos, otherPiece));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-                        if (this.pieceAlliance != board.getEnPassantPawn().pieceAlliance) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidatePos, board.getEnPassantPawn()));
-                        }
-                    }
-                }
-
+            final long jump = LeaperAttacks.pawnJumps(this.pieceAlliance, this.piecePosition) & ~occupancy;
+            if (this.isFirstMove() && jump != BitBoards.EMPTY) {
+                legalMoves.add(new PawnJump(board, this, BitBoards.firstSquare(jump)));
             }
+        }
 
+        final long attacks = LeaperAttacks.pawnAttacks(this.pieceAlliance, this.piecePosition);
+        long captures = attacks & occupancy & ~board.getOccupancy(this.pieceAlliance);
+        while (captures != BitBoards.EMPTY) {
+            final int candidatePos = BitBoards.firstSquare(captures);
+            final Piece otherPiece = board.getTile(candidatePos).getPiece();
+            if (this.pieceAlliance.isPawnPromotionSquare(candidatePos)) {
+                for (final PieceType promotionType : PROMOTION_TYPES)
+                    legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidatePos, otherPiece), promotionType));
+            } else {
+                legalMoves.add(new PawnAttackMove(board, this, candidatePos, otherPiece));
+            }
+            captures = BitBoards.clearFirstSquare(captures);
+        }
 
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.pieceAlliance != this.pieceAlliance) {
+            final int candidatePos = enPassantPawn.getPiecePosition() + BoardUtils.NUM_TILES_ROW * this.pieceAlliance.getDirection();
+            if (BitBoards.isSet(attacks & ~occupancy, candidatePos)) {
+                legalMoves.add(new PawnEnPassantAttackMove(board, this, candidatePos, enPassantPawn));
+            }
         }
         return ImmutableList.copyOf(legalMoves);
     }
@@ -105,10 +74,13 @@ public class Pawn extends Piece {
 
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getDestination(), move.getPiece().getPieceAlliance());
+        return (Pawn) createPiece(PieceType.PAWN, move.getPiece().getPieceAlliance(), move.getDestination(), false);
     }
 
-    public Piece getPromotionPiece() {
-        return new Queen(this.piecePosition, this.pieceAlliance,  false);
+    public Piece getPromotionPiece(final PieceType promotionType) {
+        if (promotionType == PieceType.PAWN || promotionType == PieceType.KING) {
+            throw new IllegalArgumentException("Cannot promote to " + promotionType);
+        }
+        return createPiece(promotionType, this.pieceAlliance, this.piecePosition, false);
     }
 }
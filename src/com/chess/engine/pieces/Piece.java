@@ -1,11 +1,18 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Tile;
+import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
+
+import static com.chess.engine.board.Move.*;
 
 public abstract class Piece {
 
@@ -13,12 +20,50 @@ public abstract class Piece {
     protected final Alliance pieceAlliance;
     protected final boolean isFirstMove;
     protected final PieceType pieceType;
+    private final int cacheIndex;
+
+    public static final int CACHE_SIZE = BitBoards.NUM_PIECE_BOARDS * BoardUtils.NUM_TILES * 2;
+    // one instance for every type, alliance, square and first move flag; pieces are immutable, so boards share them
+    private static final Piece[] PIECE_CACHE = createAllPossiblePieces();
 
-    public Piece(final int piecePosition, final Alliance pieceAlliance, final PieceType pieceType, final boolean isFirstMove) {
+    Piece(final int piecePosition, final Alliance pieceAlliance, final PieceType pieceType, final boolean isFirstMove) {
         this.pieceAlliance = pieceAlliance;
         this.piecePosition = piecePosition;
         this.isFirstMove = isFirstMove;
         this.pieceType = pieceType;
+        this.cacheIndex = cacheIndex(pieceType, pieceAlliance, piecePosition, isFirstMove);
+    }
+
+    private static Piece[] createAllPossiblePieces() {
+        final Piece[] pieces = new Piece[CACHE_SIZE];
+        for (final Alliance alliance : Alliance.values()) {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                for (final boolean isFirstMove : new boolean[] {true, false}) {
+                    pieces[cacheIndex(PieceType.PAWN, alliance, square, isFirstMove)] = new Pawn(square, alliance, isFirstMove);
+                    pieces[cacheIndex(PieceType.KNIGHT, alliance, square, isFirstMove)] = new Knight(square, alliance, isFirstMove);
+                    pieces[cacheIndex(PieceType.BISHOP, alliance, square, isFirstMove)] = new Bishop(square, alliance, isFirstMove);
+                    pieces[cacheIndex(PieceType.QUEEN, alliance, square, isFirstMove)] = new Queen(square, alliance, isFirstMove);
+                    pieces[cacheIndex(PieceType.KING, alliance, square, isFirstMove)] = new King(square, alliance, isFirstMove);
+                    pieces[cacheIndex(PieceType.ROOK, alliance, square, isFirstMove)] = new Rook(square, alliance, isFirstMove);
+                }
+            }
+        }
+        return pieces;
+    }
+
+    public static Piece createPiece(final PieceType pieceType, final Alliance pieceAlliance, final int piecePosition,
+                                    final boolean isFirstMove) {
+        return PIECE_CACHE[cacheIndex(pieceType, pieceAlliance, piecePosition, isFirstMove)];
+    }
+
+    // position of this piece in the cache, below CACHE_SIZE, for callers keeping tables of their own per piece
+    public int getCacheIndex() {
+        return this.cacheIndex;
+    }
+
+    private static int cacheIndex(final PieceType pieceType, final Alliance pieceAlliance, final int piecePosition,
+                                  final boolean isFirstMove) {
+        return (BitBoards.pieceIndex(pieceAlliance, pieceType) * BoardUtils.NUM_TILES + piecePosition) * 2 + (isFirstMove ? 1 : 0);
     }
 
     public boolean isFirstMove() {
@@ -41,6 +86,21 @@ public abstract class Piece {
 
     public abstract Piece movePiece(Move move);
 
+    protected Collection<Move> calculateMovesFromAttacks(final Board board, final long attacks) {
+        final List<Move> legalMoves = new ArrayList<>(BitBoards.count(attacks));
+        long targets = attacks & ~board.getOccupancy(this.pieceAlliance);
+        while (targets != BitBoards.EMPTY) {
+            final int candidatePos = BitBoards.firstSquare(targets);
+            final Tile candidateTile = board.getTile(candidatePos);
+            if (!candidateTile.isTileOccupied())
+                legalMoves.add(new MajorMove(board, this, candidatePos));
+            else
+                legalMoves.add(new MajorAttackMove(board, this, candidatePos, candidateTile.getPiece()));
+            targets = BitBoards.clearFirstSquare(targets);
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     public int getPieceValue() {
         return this.pieceType.getValue();
     }
@@ -72,19 +132,9 @@ public abstract class Piece {
         }
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Piece piece = (Piece) o;
-        return piecePosition == piece.piecePosition &&
-                isFirstMove == piece.isFirstMove &&
-                pieceAlliance == piece.pieceAlliance &&
-                pieceType == piece.pieceType;
-    }
-
+    // every piece comes from the cache, so the inherited identity equals is value equality
     @Override
     public int hashCode() {
-        return Objects.hash(piecePosition, pieceAlliance, isFirstMove, pieceType);
+        return this.cacheIndex;
     }
 }
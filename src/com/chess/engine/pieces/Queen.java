@@ -3,6 +3,7 @@ package com.chess.engine.pieces;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
@@ -17,17 +18,23 @@ public class Queen extends Piece {
 
     private static final int[] MOVES = new int[] {-9, -8, -7, -1, 1, 7, 8, 9};
 
-    public Queen(int piecePosition, Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.QUEEN, true);
-    }
-
-    public Queen(int piecePosition, Alliance pieceAlliance, boolean isFirstMove) {
+    Queen(int piecePosition, Alliance pieceAlliance, boolean isFirstMove) {
         super(piecePosition, pieceAlliance, PieceType.QUEEN, isFirstMove);
     }
 
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        if (SlidingMoveGenerator.getSelected() == SlidingMoveGenerator.MAGIC_BITBOARD)
+            return calculateMagicMoves(board);
+        return calculateRayMoves(board);
+    }
+
+    public Collection<Move> calculateMagicMoves(final Board board) {
+        return calculateMovesFromAttacks(board, MagicBitBoards.queenAttacks(this.piecePosition, board.getOccupancy()));
+    }
+
+    public Collection<Move> calculateRayMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
         for (int offset : MOVES) {
@@ -71,6 +78,6 @@ public class Queen extends Piece {
 
     @Override
     public Queen movePiece(Move move) {
-        return new Queen(move.getDestination(), move.getPiece().getPieceAlliance());
+        return (Queen) createPiece(PieceType.QUEEN, move.getPiece().getPieceAlliance(), move.getDestination(), false);
     }
 }
@@ -3,6 +3,7 @@ package com.chess.engine.pieces;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
@@ -17,17 +18,23 @@ public class Rook extends Piece {
 
     private static final int[] MOVES = new int[] {-8, -1, 1, 8};
 
-    public Rook(int piecePosition, Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.ROOK, true);
-    }
-
-    public Rook(int piecePosition, Alliance pieceAlliance, boolean isFirstMove) {
+    Rook(int piecePosition, Alliance pieceAlliance, boolean isFirstMove) {
         super(piecePosition, pieceAlliance, PieceType.ROOK, isFirstMove);
     }
 
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        if (SlidingMoveGenerator.getSelected() == SlidingMoveGenerator.MAGIC_BITBOARD)
+            return calculateMagicMoves(board);
+        return calculateRayMoves(board);
+    }
+
+    public Collection<Move> calculateMagicMoves(final Board board) {
+        return calculateMovesFromAttacks(board, MagicBitBoards.rookAttacks(this.piecePosition, board.getOccupancy()));
+    }
+
+    public Collection<Move> calculateRayMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
         for (int offset : MOVES) {
@@ -71,6 +78,6 @@ public class Rook extends Piece {
 
     @Override
     public Rook movePiece(Move move) {
-        return new Rook(move.getDestination(), move.getPiece().getPieceAlliance());
+        return (Rook) createPiece(PieceType.ROOK, move.getPiece().getPieceAlliance(), move.getDestination(), false);
     }
 }
@@ -0,0 +1,18 @@
+package com.chess.engine.pieces;
+
+// how Bishop, Rook and Queen build their moves in calculateLegalMoves, which now only serves the GUI's highlighting;
+// the legal moves of a player and the search come from MoveGenerator, which always uses the magic bitboards
+public enum SlidingMoveGenerator {
+    RAY_WALK,
+    MAGIC_BITBOARD;
+
+    private static volatile SlidingMoveGenerator selected = MAGIC_BITBOARD;
+
+    public static SlidingMoveGenerator getSelected() {
+        return selected;
+    }
+
+    public static void select(final SlidingMoveGenerator generator) {
+        selected = generator;
+    }
+}
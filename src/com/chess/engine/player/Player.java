@@ -1,63 +1,72 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveIndex;
+import com.chess.engine.board.MoveList;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public abstract class Player {
 
     protected final Board board;
     protected final King king;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    private final Supplier<Collection<Move>> legalMoves;
+    private final Supplier<MoveIndex> moveIndex;
+    private final Supplier<Boolean> isInCheck;
+    private final Supplier<Boolean> hasEscapeMoves;
 
-    public Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+    public Player(final Board board) {
         this.board = board;
         this.king = establishKing();
-        this.isInCheck = !Player.calculateAttackOnTile(this.king.getPiecePosition(), opponentMoves).isEmpty();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
+        this.isInCheck = Suppliers.memoize(() ->
+                this.board.isSquareAttacked(this.king.getPiecePosition(), getAlliance().opposite()));
+        this.legalMoves = Suppliers.memoize(() -> calculateLegalMoves());
+        this.moveIndex = Suppliers.memoize(() -> new MoveIndex(getLegalMoves()));
+        this.hasEscapeMoves = Suppliers.memoize(() -> this.board.hasLegalMove(getAlliance()));
     }
 
-    protected static Collection<Move> calculateAttackOnTile(int piecePosition, Collection<Move> opponentMoves) {
-        List<Move> attacks = new ArrayList<>();
-        for (Move m: opponentMoves) {
-            if (piecePosition == m.getDestination())
-                attacks.add(m);
+    // a single pass of the pin and check aware generator, each packed move becomes its Move directly
+    private Collection<Move> calculateLegalMoves() {
+        final MoveList legal = new MoveList();
+        this.board.generateLegalMoves(getAlliance(), legal);
+        final ImmutableList.Builder<Move> legalMoves = ImmutableList.builder();
+        for (int i = 0; i < legal.size(); i++) {
+            legalMoves.add(MoveFactory.createMove(this.board, legal.get(i)));
         }
-        return ImmutableList.copyOf(attacks);
+        return legalMoves.build();
     }
 
     private King establishKing() {
-        for (final Piece p : getActivePieces()) {
-            if (p.getPieceType() == Piece.PieceType.KING) {
-                return (King) p;
-            }
+        final long kingBoard = this.board.getPieceBitBoard(getAlliance(), Piece.PieceType.KING);
+        if (kingBoard == BitBoards.EMPTY) {
+            throw new RuntimeException("Should not reach here, invalid board!!");
         }
-        throw new RuntimeException("Should not reach here, invalid board!!");
+        return (King) this.board.getTile(BitBoards.firstSquare(kingBoard)).getPiece();
     }
 
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        return getMoveIndex().contains(move);
     }
 
     public boolean isInCheck() {
-        return this.isInCheck;
+        return this.isInCheck.get();
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !this.hasEscapeMoves.get();
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !this.hasEscapeMoves.get();
     }
 
     public boolean isCastled() {
@@ -69,7 +78,12 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        return this.legalMoves.get();
+    }
+
+    // legal moves keyed by their squares, for resolving clicks and notation without walking the list
+    public MoveIndex getMoveIndex() {
+        return this.moveIndex.get();
     }
 
 
@@ -77,28 +91,10 @@ public abstract class Player {
         if (!isMoveLegal(move)) {
             return new MoveTransition(board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionBoard = move.execute();
-        final Collection<Move> attacksOnKing =
-                Player.calculateAttackOnTile(transitionBoard.getCurrentPlayer().getOpponent().getKing().getPiecePosition(),
-                transitionBoard.getCurrentPlayer().getLegalMoves());
-        if (!attacksOnKing.isEmpty()) return new MoveTransition(board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-
-
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
-    }
-
-    private boolean hasEscapeMoves() {
-        for (Move m : legalMoves) {
-            MoveTransition transition = makeMove(m);
-            if (transition.getMoveStatus().isDone())
-                return true;
-        }
-        return false;
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
     }
 
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
 }
@@ -0,0 +1,525 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.StaticExchange;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+// negamax with alpha-beta pruning over the same leaves and evaluation as MiniMax, so both agree on the best move
+public class AlphaBeta implements MoveStrategy {
+
+    static final int INFINITY = Integer.MAX_VALUE;
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int NO_CUTOFF = Integer.MIN_VALUE;
+    // above every ordering band, the move stored for the position is always tried first
+    private static final int HASH_MOVE_SCORE = 1 << 29;
+    // the clock and the stop flag are read once per this many nodes
+    private static final int DEADLINE_CHECK_INTERVAL = 2048;
+    // a capture that cannot lift the static score to alpha even with this much to spare is not searched
+    private static final int DELTA_MARGIN = 200;
+    private static final MoveOrdering QUIESCENCE_ORDERING = new MvvLvaOrdering();
+    // a null move is tried this deep or deeper, and searched this many plies shallower, one more when far from the leaves
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int NULL_MOVE_DEEP_DEPTH = 7;
+    // quiet moves ranked at least this low are reduced by a ply, two plies from the second rank on
+    private static final int REDUCTION_MIN_DEPTH = 3;
+    private static final int REDUCTION_FIRST_RANK = 3;
+    private static final int REDUCTION_SECOND_RANK = 8;
+    // by remaining depth: how far below alpha the static score must be for futility pruning and for razoring
+    private static final int[] FUTILITY_MARGINS = {0, 200, 500};
+    private static final int[] RAZORING_MARGINS = {0, 300, 600};
+
+    private final BoardEvaluator boardEvaluator;
+    private final MoveOrdering moveOrdering;
+    private final TranspositionTable transpositionTable;
+    private final SearchOptions options;
+    private final int searchDepth;
+    private MoveList[] moveLists;
+    private int[][] moveScores;
+    // quiescence runs past the nominal depth, so its lists are kept by ply and made on first use
+    private final MoveList[] quiescenceMoves = new MoveList[SearchPosition.MAX_PLY];
+    private final int[][] quiescenceScores = new int[SearchPosition.MAX_PLY][];
+    private final int[][] pvTable = new int[SearchPosition.MAX_PLY][SearchPosition.MAX_PLY];
+    private final int[] pvLength = new int[SearchPosition.MAX_PLY];
+    private final SearchStatistics statistics = new SearchStatistics();
+    private final SearchListeners listeners = new SearchListeners();
+    private long nodesSearched;
+    private long deadline;
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean aborted;
+    private IntSupplier rootAlpha;
+    private AtomicBoolean stopFlag = new AtomicBoolean();
+    // the best root move of the current search among the moves finished so far, kept for when it is cut short
+    private int rootBestMove;
+    private int score;
+
+    public AlphaBeta(final int searchDepth) {
+        this(searchDepth, CompositeMoveOrdering.standard());
+    }
+
+    public AlphaBeta(final int searchDepth, final MoveOrdering moveOrdering) {
+        this(searchDepth, moveOrdering, null);
+    }
+
+    // without a transposition table every node is searched, so the result matches MiniMax exactly; with one, a
+    // position may be answered from a deeper search of the same position
+    public AlphaBeta(final int searchDepth, final MoveOrdering moveOrdering, final TranspositionTable transpositionTable) {
+        this(searchDepth, moveOrdering, transpositionTable, SearchOptions.exact());
+    }
+
+    public AlphaBeta(final int searchDepth, final MoveOrdering moveOrdering, final TranspositionTable transpositionTable,
+                     final SearchOptions options) {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.moveOrdering = moveOrdering;
+        this.transpositionTable = transpositionTable;
+        this.options = options;
+        this.searchDepth = searchDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaBeta";
+    }
+
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchLimits.depth(this.searchDepth));
+    }
+
+    // searches to its own depth or the limit's, whichever is shallower; when the nodes or the time run out or a stop
+    // arrives first, answers with the best of the root moves that were finished
+    @Override
+    public Move execute(final Board board, final SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        final TimeControl timeControl = limits.getTimeControl();
+        this.stopFlag.set(false);
+        reset();
+        setNodeLimit(limits.getMaxNodes());
+
+        final int depth = Math.min(this.searchDepth, limits.getMaxDepth());
+        int bestMove = search(position, depth, timeControl.isUnlimited()
+                ? NO_DEADLINE : startTime + timeControl.getBudgetMillis() * 1_000_000L);
+        // the one iteration counts as finished only when it was not cut short
+        if (bestMove != PackedMove.NONE) {
+            this.statistics.iterationFinished(depth, this.nodesSearched, System.nanoTime() - startTime, this.score,
+                    getPrincipalVariation());
+            this.listeners.iterationFinished(this.statistics);
+        }
+        this.statistics.searchFinished(this.nodesSearched, System.nanoTime() - startTime);
+        this.listeners.searchFinished(this.statistics);
+
+        if (bestMove == PackedMove.NONE) bestMove = this.rootBestMove;
+        if (bestMove == PackedMove.NONE) bestMove = firstLegalMove(position);
+        if (bestMove == PackedMove.NONE) return null;
+        return Move.MoveFactory.createMove(board, bestMove);
+    }
+
+    // ends the search running now; a request made while none runs is dropped when the next one starts
+    @Override
+    public void stop() {
+        this.stopFlag.set(true);
+    }
+
+    // told when execute finishes; a search driven by another strategy reports through that strategy instead
+    public void addSearchListener(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeSearchListener(final SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    // a search abandons its iteration soon after the flag is set, as it would at the deadline; stop() sets the
+    // flag given here, so a strategy driving this search can share its own
+    void setStopFlag(final AtomicBoolean stopFlag) {
+        this.stopFlag = stopFlag;
+    }
+
+    // a search abandons its iteration once the node count since the last reset reaches the limit
+    void setNodeLimit(final long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    // forgets the node count and what the ordering learned, before searching a new position
+    void reset() {
+        this.nodesSearched = 0;
+        this.statistics.reset();
+        this.moveOrdering.clear();
+    }
+
+    // counts since the last reset
+    public SearchStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    // searches to the given depth, adding to the node count and keeping what the ordering has learned;
+    // returns NONE if the deadline passed first
+    int search(final SearchPosition position, final int depth, final long deadline) {
+        return search(position, depth, -INFINITY, INFINITY, deadline);
+    }
+
+    // as above, within a root window: a score at or below alpha, or at or above beta, only bounds the true score
+    int search(final SearchPosition position, final int depth, final int alpha, final int beta, final long deadline) {
+        ensureMoveLists(depth);
+        this.deadline = deadline;
+        this.aborted = false;
+        this.rootAlpha = null;
+        final int bestMove = searchRoot(position, depth, alpha, beta);
+        return this.aborted ? PackedMove.NONE : bestMove;
+    }
+
+    // whether the last search or root move search was abandoned before it finished
+    boolean isAborted() {
+        return this.aborted;
+    }
+
+    // the answer when a search was stopped before any root move was finished
+    static int firstLegalMove(final SearchPosition position) {
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        return moves.isEmpty() ? PackedMove.NONE : moves.get(0);
+    }
+
+    // scores one root move, given the position after it, from the root's point of view; the root's alpha is read
+    // again before every reply, so root moves searched on other threads narrow this one's window as they finish
+    int searchRootMove(final SearchPosition position, final int depth, final IntSupplier rootAlpha, final long deadline) {
+        ensureMoveLists(depth);
+        this.deadline = deadline;
+        this.aborted = false;
+        this.rootAlpha = rootAlpha;
+        return -search(position, depth - 1, -INFINITY, -rootAlpha.getAsInt(), 1, true);
+    }
+
+    private void ensureMoveLists(final int depth) {
+        if (this.moveLists == null || this.moveLists.length <= depth) {
+            this.moveLists = new MoveList[depth + 1];
+            this.moveScores = new int[depth + 1][MoveGenerator.MAX_MOVES];
+            for (int i = 0; i < this.moveLists.length; i++)
+                this.moveLists[i] = new MoveList();
+        }
+    }
+
+    // the moves the last completed search expects from both sides, best move first
+    int[] getPrincipalVariation() {
+        return Arrays.copyOf(this.pvTable[0], this.pvLength[0]);
+    }
+
+    // the score of the last completed search, from the side to move's point of view
+    int getScore() {
+        return this.score;
+    }
+
+    // root moves are searched in the ordering's order, but a tie goes to the move generated first, as in MiniMax;
+    // a move generated before the current best is searched with a window one lower so a tie is seen exactly
+    private int searchRoot(final SearchPosition position, final int depth, final int windowAlpha, final int windowBeta) {
+        final MoveList moves = this.moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        final MoveList generated = new MoveList(moves.size());
+        for (int i = 0; i < moves.size(); i++) generated.add(moves.get(i));
+        scoreMoves(position, moves, this.moveScores[depth], 0, probeHashMove(position));
+        this.pvLength[0] = 0;
+        this.rootBestMove = PackedMove.NONE;
+
+        int bestMove = PackedMove.NONE;
+        int bestOrder = Integer.MAX_VALUE;
+        int bestValue = -INFINITY;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = selectMove(moves, this.moveScores[depth], i);
+            final int order = indexOf(generated, move);
+            final int alpha = bestMove == PackedMove.NONE ? windowAlpha
+                    : Math.max(windowAlpha, order < bestOrder ? bestValue - 1 : bestValue);
+            if (!position.makeMove(move)) continue;
+            final int value = searchMove(position, depth - 1, alpha, windowBeta, 1, bestMove != PackedMove.NONE);
+            position.unmakeMove(move);
+            if (this.aborted) return PackedMove.NONE;
+
+            if (value > bestValue || value == bestValue && order < bestOrder) {
+                bestValue = value;
+                bestOrder = order;
+                bestMove = move;
+                this.rootBestMove = move;
+                updatePrincipalVariation(move, 0);
+            }
+            if (bestValue >= windowBeta) break;
+        }
+        this.score = bestValue;
+        final int bound = bestValue >= windowBeta ? TranspositionTable.LOWER_BOUND
+                : bestValue <= windowAlpha ? TranspositionTable.UPPER_BOUND : TranspositionTable.EXACT;
+        store(position, bestMove, bestValue, depth, bound);
+        return bestMove;
+    }
+
+    // a null move may not answer a null move, which would just hand the turn back
+    private int search(final SearchPosition position, final int depth, int alpha, int beta, final int ply,
+                       final boolean nullMoveAllowed) {
+        this.pvLength[ply] = ply;
+        if (!countNode()) return 0;
+        if (depth == 0) return leaf(position, alpha, beta, ply);
+
+        int hashMove = PackedMove.NONE;
+        if (this.transpositionTable != null) {
+            final long entry = probe(position);
+            if (entry != TranspositionTable.NO_ENTRY) {
+                hashMove = TranspositionTable.getMove(entry);
+                if (TranspositionTable.getDepth(entry) >= depth) {
+                    final int cutoff = transpositionCutoff(entry, alpha, beta);
+                    if (cutoff != NO_CUTOFF) return cutoff;
+                }
+            }
+        }
+
+        final boolean inCheck = position.isInCheck();
+        final int staticScore = !inCheck && this.options.needsStaticScore() ? evaluate(position, 0) : 0;
+        if (!inCheck && this.options.isRazoring() && depth < RAZORING_MARGINS.length && hashMove == PackedMove.NONE
+                && staticScore + RAZORING_MARGINS[depth] <= alpha) {
+            final int value = leaf(position, alpha, alpha + 1, ply);
+            if (this.aborted) return 0;
+            if (value <= alpha) {
+                this.statistics.razoringCutoffs++;
+                return alpha;
+            }
+        }
+        // with only king and pawns left zugzwang is common, and passing would look better than any real move
+        if (!inCheck && nullMoveAllowed && this.options.isNullMove() && depth >= NULL_MOVE_MIN_DEPTH
+                && staticScore >= beta && position.hasPieces(position.getSideToMove())) {
+            final int reduction = NULL_MOVE_REDUCTION + (depth >= NULL_MOVE_DEEP_DEPTH ? 1 : 0);
+            position.makeNullMove();
+            final int value = -search(position, Math.max(0, depth - 1 - reduction), -beta, -beta + 1, ply + 1, false);
+            position.unmakeNullMove();
+            if (this.aborted) return 0;
+            if (value >= beta) {
+                this.statistics.nullMoveCutoffs++;
+                return beta;
+            }
+        }
+        final boolean futile = !inCheck && this.options.isFutility() && depth < FUTILITY_MARGINS.length
+                && staticScore + FUTILITY_MARGINS[depth] <= alpha;
+
+        final MoveList moves = this.moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        if (moves.isEmpty()) return evaluate(position, depth);
+
+        final int[] scores = this.moveScores[depth];
+        scoreMoves(position, moves, scores, ply, hashMove);
+        int bestMove = PackedMove.NONE;
+        int searched = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (ply == 1 && this.rootAlpha != null) {
+                beta = Math.min(beta, -this.rootAlpha.getAsInt());
+                if (alpha >= beta) return beta;
+            }
+            final int move = selectMove(moves, scores, i);
+            // the hash move, captures, promotions and killers are never pruned or reduced, nor are checks
+            final boolean quiet = scores[i] < KillerMoveOrdering.KILLER_SCORE - 1 && !MvvLvaOrdering.isTactical(move);
+            if (!position.makeMove(move)) continue;
+            final boolean lateQuiet = quiet && !inCheck && !position.isInCheck();
+            if (futile && lateQuiet && searched > 0) {
+                position.unmakeMove(move);
+                this.statistics.futilityPrunes++;
+                continue;
+            }
+
+            int value;
+            if (this.options.isLateMoveReductions() && lateQuiet && depth >= REDUCTION_MIN_DEPTH && i >= REDUCTION_FIRST_RANK) {
+                final int reduction = i >= REDUCTION_SECOND_RANK ? 2 : 1;
+                this.statistics.lateMoveReductions++;
+                value = -search(position, depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+                if (value > alpha && !this.aborted) {
+                    this.statistics.lateMoveResearches++;
+                    value = searchMove(position, depth - 1, alpha, beta, ply + 1, true);
+                }
+            } else {
+                value = searchMove(position, depth - 1, alpha, beta, ply + 1, searched > 0);
+            }
+            position.unmakeMove(move);
+            searched++;
+            if (this.aborted) return 0;
+
+            if (value >= beta) {
+                this.moveOrdering.onCutoff(position, move, ply, depth);
+                this.statistics.countCutoff(i);
+                store(position, move, beta, depth, TranspositionTable.LOWER_BOUND);
+                return beta;
+            }
+            if (value > alpha) {
+                alpha = value;
+                bestMove = move;
+                updatePrincipalVariation(move, ply);
+            }
+        }
+        store(position, bestMove, alpha, depth, bestMove == PackedMove.NONE ? TranspositionTable.UPPER_BOUND : TranspositionTable.EXACT);
+        return alpha;
+    }
+
+    // the score of the move just made, from the mover's side; with principal variation search a move expected to
+    // fail low is first only proven to, with a null window, and searched again with the full window if it does not
+    private int searchMove(final SearchPosition position, final int depth, final int alpha, final int beta, final int ply,
+                           final boolean expectFailLow) {
+        if (expectFailLow && this.options.isPrincipalVariationSearch() && beta > alpha + 1) {
+            final int value = -search(position, depth, -alpha - 1, -alpha, ply, true);
+            if (value <= alpha || this.aborted) return value;
+            this.statistics.principalVariationResearches++;
+        }
+        return -search(position, depth, -beta, -alpha, ply, true);
+    }
+
+    private int leaf(final SearchPosition position, final int alpha, final int beta, final int ply) {
+        return this.options.isQuiescence() ? quiescence(position, alpha, beta, ply) : evaluate(position, 0);
+    }
+
+    // captures and promotions only, until the position is quiet: the side to move may stand pat on the static score,
+    // unless in check, when every evasion is searched instead
+    private int quiescence(final SearchPosition position, int alpha, final int beta, final int ply) {
+        this.statistics.quiescenceNodes++;
+        final boolean inCheck = position.isInCheck();
+        final int standPat = evaluate(position, 0);
+        if (ply >= SearchPosition.MAX_PLY - 1) return standPat;
+        if (!inCheck) {
+            if (standPat >= beta) return beta;
+            if (standPat > alpha) alpha = standPat;
+        }
+
+        final MoveList moves = quiescenceMoves(ply);
+        if (inCheck) {
+            MoveGenerator.generateLegalMoves(position, moves);
+            if (moves.isEmpty()) return standPat;
+        } else {
+            MoveGenerator.generateLegalTacticalMoves(position, moves);
+        }
+        final int[] scores = this.quiescenceScores[ply];
+        for (int i = 0; i < moves.size(); i++) scores[i] = QUIESCENCE_ORDERING.score(position, moves.get(i), ply);
+
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = selectMove(moves, scores, i);
+            if (!inCheck && (standPat + materialGain(move) + DELTA_MARGIN <= alpha
+                    || StaticExchange.evaluate(position, move) < 0)) {
+                continue;
+            }
+            if (!position.makeMove(move)) continue;
+            final int value = countNode() ? -quiescence(position, -beta, -alpha, ply + 1) : 0;
+            position.unmakeMove(move);
+            if (this.aborted) return 0;
+
+            if (value >= beta) return beta;
+            if (value > alpha) alpha = value;
+        }
+        return alpha;
+    }
+
+    private MoveList quiescenceMoves(final int ply) {
+        if (this.quiescenceMoves[ply] == null) {
+            this.quiescenceMoves[ply] = new MoveList();
+            this.quiescenceScores[ply] = new int[MoveGenerator.MAX_MOVES];
+        }
+        return this.quiescenceMoves[ply];
+    }
+
+    // the most the move can add to the material balance
+    private static int materialGain(final int move) {
+        int gain = PackedMove.isCapture(move) ? PackedMove.getCapturedType(move).getValue() : 0;
+        if (PackedMove.isPromotion(move)) gain += PackedMove.getPromotionType(move).getValue() - PieceType.PAWN.getValue();
+        return gain;
+    }
+
+    // counts a node, reading the clock and the stop flag every so often; false once the search has been abandoned
+    private boolean countNode() {
+        if (++this.nodesSearched >= this.nodeLimit || this.nodesSearched % DEADLINE_CHECK_INTERVAL == 0
+                && (System.nanoTime() > this.deadline || this.stopFlag.get())) {
+            this.aborted = true;
+        }
+        return !this.aborted;
+    }
+
+    // the stored score clamped to the window as a fail-hard search would return it, or NO_CUTOFF when the stored
+    // bound says nothing about this window
+    private static int transpositionCutoff(final long entry, final int alpha, final int beta) {
+        final int score = TranspositionTable.getScore(entry);
+        switch (TranspositionTable.getBound(entry)) {
+            case TranspositionTable.EXACT:
+                return Math.max(alpha, Math.min(beta, score));
+            case TranspositionTable.LOWER_BOUND:
+                return score >= beta ? beta : NO_CUTOFF;
+            default:
+                return score <= alpha ? alpha : NO_CUTOFF;
+        }
+    }
+
+    private void store(final SearchPosition position, final int move, final int score, final int depth, final int bound) {
+        if (this.transpositionTable != null) {
+            this.transpositionTable.store(position.getZobristKey(), move, score, depth, bound);
+        }
+    }
+
+    // the table counts the probes of every search sharing it, the statistics only this one's
+    private long probe(final SearchPosition position) {
+        final long entry = this.transpositionTable.probe(position.getZobristKey());
+        this.statistics.transpositionProbes++;
+        if (entry != TranspositionTable.NO_ENTRY) this.statistics.transpositionHits++;
+        return entry;
+    }
+
+    private int probeHashMove(final SearchPosition position) {
+        if (this.transpositionTable == null) return PackedMove.NONE;
+        return TranspositionTable.getMove(probe(position));
+    }
+
+    // the move followed by the line the child at the next ply found
+    private void updatePrincipalVariation(final int move, final int ply) {
+        final int[] line = this.pvTable[ply];
+        line[ply] = move;
+        final int childLength = this.pvLength[ply + 1];
+        System.arraycopy(this.pvTable[ply + 1], ply + 1, line, ply + 1, childLength - (ply + 1));
+        this.pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    // the evaluator scores from white's side, negamax wants the side to move's
+    private int evaluate(final SearchPosition position, final int depth) {
+        final int score = this.boardEvaluator.evaluate(position, depth);
+        return position.getSideToMove().isWhite() ? score : -score;
+    }
+
+    private void scoreMoves(final SearchPosition position, final MoveList moves, final int[] scores, final int ply,
+                            final int hashMove) {
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            scores[i] = this.moveOrdering.score(position, move, ply) + (move == hashMove ? HASH_MOVE_SCORE : 0);
+        }
+    }
+
+    // swaps the best scored of the remaining moves into place, so a cutoff saves sorting the rest
+    private static int selectMove(final MoveList moves, final int[] scores, final int index) {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        final int move = moves.get(best);
+        final int score = scores[best];
+        moves.set(best, moves.get(index));
+        scores[best] = scores[index];
+        moves.set(index, move);
+        scores[index] = score;
+        return move;
+    }
+
+    private static int indexOf(final MoveList moves, final int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchPosition;
+
+// sums the scores of its parts, which keep to separate bands so the sum keeps each part's priority
+public class CompositeMoveOrdering implements MoveOrdering {
+
+    private final MoveOrdering[] orderings;
+
+    public CompositeMoveOrdering(final MoveOrdering... orderings) {
+        this.orderings = orderings.clone();
+    }
+
+    // captures by MVV-LVA, then killers, then quiet moves by history
+    public static MoveOrdering standard() {
+        return new CompositeMoveOrdering(new MvvLvaOrdering(), new KillerMoveOrdering(), new HistoryOrdering());
+    }
+
+    @Override
+    public int score(final SearchPosition position, final int move, final int ply) {
+        int score = 0;
+        for (final MoveOrdering ordering : this.orderings) score += ordering.score(position, move, ply);
+        return score;
+    }
+
+    @Override
+    public void onCutoff(final SearchPosition position, final int move, final int ply, final int depth) {
+        for (final MoveOrdering ordering : this.orderings) ordering.onCutoff(position, move, ply, depth);
+    }
+
+    @Override
+    public void clear() {
+        for (final MoveOrdering ordering : this.orderings) ordering.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.PackedMove;
+
+// prints each finished iteration and the statistics of the whole search, for the command line benchmarks
+public class ConsoleSearchListener implements SearchListener {
+
+    @Override
+    public void iterationFinished(final SearchStatistics statistics) {
+        final StringBuilder pv = new StringBuilder();
+        for (final int move : statistics.getPrincipalVariation()) pv.append(' ').append(PackedMove.toString(move));
+        System.out.println("depth " + statistics.getDepth() + " score " + statistics.getScore() + " nodes "
+                + statistics.getNodes() + " time " + statistics.getElapsedMillis() + " pv" + pv);
+    }
+
+    @Override
+    public void searchFinished(final SearchStatistics statistics) {
+        System.out.println(statistics);
+    }
+}
@@ -0,0 +1,46 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchPosition;
+
+import java.util.Arrays;
+
+// quiet moves are ranked by how often, and how deep, the same from/to pair has failed high anywhere in the tree
+public class HistoryOrdering implements MoveOrdering {
+
+    // kept below the killer score; everything is halved when a counter would pass it
+    private static final int MAX_HISTORY = KillerMoveOrdering.KILLER_SCORE - 2;
+
+    private final int[][][] history = new int[Alliance.values().length][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    @Override
+    public int score(final SearchPosition position, final int move, final int ply) {
+        if (MvvLvaOrdering.isTactical(move)) return 0;
+        return this.history[position.getSideToMove().ordinal()][PackedMove.getFrom(move)][PackedMove.getTo(move)];
+    }
+
+    @Override
+    public void onCutoff(final SearchPosition position, final int move, final int ply, final int depth) {
+        if (MvvLvaOrdering.isTactical(move)) return;
+        final int[] counters = this.history[position.getSideToMove().ordinal()][PackedMove.getFrom(move)];
+        counters[PackedMove.getTo(move)] += depth * depth;
+        if (counters[PackedMove.getTo(move)] > MAX_HISTORY) age();
+    }
+
+    @Override
+    public void clear() {
+        for (final int[][] side : this.history) {
+            for (final int[] counters : side) Arrays.fill(counters, 0);
+        }
+    }
+
+    private void age() {
+        for (final int[][] side : this.history) {
+            for (final int[] counters : side) {
+                for (int to = 0; to < counters.length; to++) counters[to] /= 2;
+            }
+        }
+    }
+}
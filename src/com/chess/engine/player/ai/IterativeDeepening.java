@@ -0,0 +1,213 @@
+package com.chess.engine.player.ai;
+
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.SearchPosition;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// searches one ply deeper at a time until the time budget or the maximum depth runs out, answering with the
+// best move of the last iteration that finished
+public class IterativeDeepening implements MoveStrategy {
+
+    public static final int MAX_DEPTH = 64;
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+
+    private final SearchLimits limits;
+    private final PrincipalVariationOrdering pvOrdering;
+    private final TranspositionTable transpositionTable;
+    private final SearchOptions options;
+    private final AlphaBeta alphaBeta;
+    private final AtomicBoolean stopFlag = new AtomicBoolean();
+    private final SearchListeners listeners = new SearchListeners();
+    private int depthReached;
+
+    public IterativeDeepening(final TimeControl timeControl) {
+        this(MAX_DEPTH, timeControl);
+    }
+
+    public IterativeDeepening(final int maxDepth, final TimeControl timeControl) {
+        this(maxDepth, timeControl, new TranspositionTable(DEFAULT_HASH_MEGABYTES));
+    }
+
+    // the table may be shared with later searches of the same game, or be null to search without one
+    public IterativeDeepening(final int maxDepth, final TimeControl timeControl, final TranspositionTable transpositionTable) {
+        this(maxDepth, timeControl, transpositionTable, SearchOptions.standard());
+    }
+
+    public IterativeDeepening(final int maxDepth, final TimeControl timeControl, final TranspositionTable transpositionTable,
+                              final SearchOptions options) {
+        this.limits = new SearchLimits.Builder().setMaxDepth(maxDepth).setTimeControl(timeControl).build();
+        this.pvOrdering = new PrincipalVariationOrdering();
+        this.transpositionTable = transpositionTable;
+        this.options = options;
+        this.alphaBeta = new AlphaBeta(maxDepth, new CompositeMoveOrdering(this.pvOrdering, CompositeMoveOrdering.standard()),
+                transpositionTable, options);
+        this.alphaBeta.setStopFlag(this.stopFlag);
+    }
+
+    @Override
+    public String toString() {
+        return "IterativeDeepening";
+    }
+
+    @Override
+    public long getNodesSearched() {
+        return this.alphaBeta.getNodesSearched();
+    }
+
+    // the last search's, or the running one's so far
+    public SearchStatistics getStatistics() {
+        return this.alphaBeta.getStatistics();
+    }
+
+    public void addSearchListener(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeSearchListener(final SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    // the depth of the last iteration that finished in the last execute
+    public int getDepthReached() {
+        return this.depthReached;
+    }
+
+    // searches within the limits given when this was made
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, this.limits);
+    }
+
+    @Override
+    public Move execute(final Board board, final SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        if (this.transpositionTable != null) this.transpositionTable.newSearch();
+
+        final int bestMove = iterate(position, limits, startTime);
+        if (bestMove == PackedMove.NONE) return null;
+        return Move.MoveFactory.createMove(board, bestMove);
+    }
+
+    // ends the search running now; a request made while none runs is dropped when the next one starts, so a strategy
+    // kept across moves never answers with an unsearched move
+    @Override
+    public void stop() {
+        this.stopFlag.set(true);
+    }
+
+    // the iterations of one search timed from the given start; a table shared with other searches is aged by the caller
+    int iterate(final SearchPosition position, final SearchLimits limits, final long startTime) {
+        final TimeControl timeControl = limits.getTimeControl();
+        final long deadline = timeControl.isUnlimited() ? AlphaBeta.NO_DEADLINE
+                : startTime + timeControl.getBudgetMillis() * 1_000_000L;
+        this.stopFlag.set(false);
+        this.alphaBeta.reset();
+        this.alphaBeta.setNodeLimit(limits.getMaxNodes());
+        this.depthReached = 0;
+
+        int bestMove = PackedMove.NONE;
+        for (int depth = 1; depth <= limits.getMaxDepth() && !this.stopFlag.get(); depth++) {
+            final int move = aspirationSearch(position, depth, deadline);
+            if (move == PackedMove.NONE) break;
+            bestMove = move;
+            this.depthReached = depth;
+            final int[] principalVariation = this.alphaBeta.getPrincipalVariation();
+            this.pvOrdering.setPrincipalVariation(position, principalVariation);
+
+            final long elapsedNanos = System.nanoTime() - startTime;
+            final long elapsedMillis = elapsedNanos / 1_000_000L;
+            this.alphaBeta.getStatistics().iterationFinished(depth, this.alphaBeta.getNodesSearched(), elapsedNanos,
+                    this.alphaBeta.getScore(), principalVariation);
+            this.listeners.iterationFinished(this.alphaBeta.getStatistics());
+            // the next iteration takes several times as long as this one, so it would most likely be cut off
+            if (!timeControl.isUnlimited() && elapsedMillis * 2 > timeControl.getBudgetMillis()) break;
+        }
+
+        final SearchStatistics statistics = this.alphaBeta.getStatistics();
+        statistics.searchFinished(this.alphaBeta.getNodesSearched(), System.nanoTime() - startTime);
+        this.listeners.searchFinished(statistics);
+        return bestMove == PackedMove.NONE ? AlphaBeta.firstLegalMove(position) : bestMove;
+    }
+
+    // a narrow window around the last iteration's score prunes more, at the price of searching again when the score
+    // falls outside it; the bound that failed is moved out by the widening factor each time until the score fits
+    private int aspirationSearch(final SearchPosition position, final int depth, final long deadline) {
+        if (depth == 1 || this.options.getAspirationWindow() == 0) return this.alphaBeta.search(position, depth, deadline);
+
+        final SearchStatistics statistics = this.alphaBeta.getStatistics();
+        final int previousScore = this.alphaBeta.getScore();
+        long lowerDelta = this.options.getAspirationWindow();
+        long upperDelta = this.options.getAspirationWindow();
+        while (true) {
+            final int alpha = (int) Math.max(-AlphaBeta.INFINITY, previousScore - lowerDelta);
+            final int beta = (int) Math.min(AlphaBeta.INFINITY, previousScore + upperDelta);
+            final int move = this.alphaBeta.search(position, depth, alpha, beta, deadline);
+            if (move == PackedMove.NONE) return move;
+            final int score = this.alphaBeta.getScore();
+            if (score <= alpha && alpha > -AlphaBeta.INFINITY) {
+                statistics.aspirationFailLows++;
+                lowerDelta *= this.options.getAspirationWidening();
+            } else if (score >= beta && beta < AlphaBeta.INFINITY) {
+                statistics.aspirationFailHighs++;
+                upperDelta *= this.options.getAspirationWidening();
+            } else {
+                return move;
+            }
+        }
+    }
+
+    // usage: IterativeDeepening [depth] [window] [widening] [pvs]; nodes and re-searches to a fixed depth over the
+    // reference positions, for tuning the aspiration window
+    // usage: IterativeDeepening time [millis]; the depth reached in the same time with and without the selective search
+    public static void main(String... args) {
+        if (args.length > 0 && args[0].equals("time")) {
+            depthInTime(args.length > 1 ? Long.parseLong(args[1]) : 2000);
+            return;
+        }
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        final SearchOptions.Builder options = SearchOptions.standard().toBuilder();
+        if (args.length > 1) options.setAspirationWindow(Integer.parseInt(args[1]));
+        if (args.length > 2) options.setAspirationWidening(Integer.parseInt(args[2]));
+        if (args.length > 3) options.setPrincipalVariationSearch(Boolean.parseBoolean(args[3]));
+
+        final SearchListener console = new ConsoleSearchListener();
+        final SearchStatistics total = new SearchStatistics();
+        long nodes = 0;
+        final long startTime = System.nanoTime();
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final IterativeDeepening search = new IterativeDeepening(depth, TimeControl.unlimited(),
+                    new TranspositionTable(DEFAULT_HASH_MEGABYTES), options.build());
+            search.addSearchListener(console);
+            search.execute(FenUtilities.createGameFromFEN(reference.getFen()));
+            nodes += search.getNodesSearched();
+            total.add(search.getStatistics());
+        }
+        System.out.println(options.build());
+        System.out.println(String.format("depth %d nodes %d time %.3fs", depth, nodes, (System.nanoTime() - startTime) / 1e9));
+        System.out.println(total);
+    }
+
+    private static void depthInTime(final long millis) {
+        final SearchOptions selective = SearchOptions.standard();
+        final SearchOptions full = selective.toBuilder().setNullMove(false).setLateMoveReductions(false)
+                .setFutility(false).setRazoring(false).build();
+        for (final SearchOptions options : new SearchOptions[] {full, selective}) {
+            int totalDepth = 0;
+            for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+                final IterativeDeepening search = new IterativeDeepening(MAX_DEPTH, TimeControl.fixed(millis),
+                        new TranspositionTable(DEFAULT_HASH_MEGABYTES), options);
+                search.execute(FenUtilities.createGameFromFEN(reference.getFen()));
+                totalDepth += search.getDepthReached();
+                System.out.println(String.format("%-12s depth %2d", reference.getName(), search.getDepthReached()));
+            }
+            System.out.println(options);
+            System.out.println(String.format("average depth %.1f in %dms", (double) totalDepth / Perft.REFERENCE_POSITIONS.size(), millis));
+        }
+    }
+}
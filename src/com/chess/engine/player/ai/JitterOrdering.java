@@ -0,0 +1,31 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchPosition;
+
+// a small, seeded offset per move and position, so searches differing only in seed try near-equal moves in
+// different orders; it stays below the gaps between capture scores
+public class JitterOrdering implements MoveOrdering {
+
+    private static final int JITTER_BITS = 6;
+
+    private final long seed;
+
+    public JitterOrdering(final long seed) {
+        this.seed = seed * 0x9E3779B97F4A7C15L;
+    }
+
+    @Override
+    public int score(final SearchPosition position, final int move, final int ply) {
+        long hash = (position.getZobristKey() ^ this.seed) + move * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        return (int) ((hash * 0x94D049BB133111EBL) >>> (Long.SIZE - JITTER_BITS));
+    }
+
+    @Override
+    public void onCutoff(final SearchPosition position, final int move, final int ply, final int depth) {
+    }
+
+    @Override
+    public void clear() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchPosition;
+
+// the last two quiet moves that failed high at a ply are likely to refute its siblings too
+public class KillerMoveOrdering implements MoveOrdering {
+
+    static final int KILLER_SCORE = 1 << 25;
+
+    private final int[][] killers = new int[SearchPosition.MAX_PLY][2];
+
+    @Override
+    public int score(final SearchPosition position, final int move, final int ply) {
+        if (MvvLvaOrdering.isTactical(move)) return 0;
+        if (this.killers[ply][0] == move) return KILLER_SCORE;
+        return this.killers[ply][1] == move ? KILLER_SCORE - 1 : 0;
+    }
+
+    @Override
+    public void onCutoff(final SearchPosition position, final int move, final int ply, final int depth) {
+        if (MvvLvaOrdering.isTactical(move) || this.killers[ply][0] == move) return;
+        this.killers[ply][1] = this.killers[ply][0];
+        this.killers[ply][0] = move;
+    }
+
+    @Override
+    public void clear() {
+        for (final int[] killer : this.killers) {
+            killer[0] = 0;
+            killer[1] = 0;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.chess.engine.player.ai;
+
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.SearchPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Lazy SMP: helper threads run their own iterative deepening over the same position, starting at staggered depths
+// and with jittered move orders, and share nothing but the transposition table; the calling thread's search gives
+// the answer and finds the table already filled by the helpers
+public class LazySmp implements MoveStrategy {
+
+    private final IterativeDeepening mainSearch;
+    private final TranspositionTable transpositionTable;
+    private final SearchLimits limits;
+    private final AlphaBeta[] helpers;
+    private final ExecutorService executor;
+    private long nodesSearched;
+
+    public LazySmp(final int threads, final int maxDepth, final TimeControl timeControl) {
+        this(threads, maxDepth, timeControl, new TranspositionTable(IterativeDeepening.DEFAULT_HASH_MEGABYTES));
+    }
+
+    // with one thread nothing runs in the background, and the search is as repeatable as IterativeDeepening's
+    public LazySmp(final int threads, final int maxDepth, final TimeControl timeControl,
+                   final TranspositionTable transpositionTable) {
+        this(threads, maxDepth, timeControl, transpositionTable, SearchOptions.standard());
+    }
+
+    public LazySmp(final int threads, final int maxDepth, final TimeControl timeControl,
+                   final TranspositionTable transpositionTable, final SearchOptions options) {
+        // the helpers only help through the table, so there is no Lazy SMP without one
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be positive, not " + threads);
+        if (transpositionTable == null) throw new IllegalArgumentException("Lazy SMP needs a transposition table");
+        this.limits = new SearchLimits.Builder().setMaxDepth(maxDepth).setTimeControl(timeControl).build();
+        this.transpositionTable = transpositionTable;
+        this.mainSearch = new IterativeDeepening(maxDepth, timeControl, transpositionTable, options);
+        this.helpers = new AlphaBeta[threads - 1];
+        for (int i = 0; i < this.helpers.length; i++) {
+            this.helpers[i] = new AlphaBeta(maxDepth, new CompositeMoveOrdering(CompositeMoveOrdering.standard(),
+                    new JitterOrdering(i + 1)), transpositionTable, options);
+        }
+        this.executor = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            final Thread thread = new Thread(runnable, "LazySmp helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "LazySmp";
+    }
+
+    // nodes of the main search and the helpers together
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    // the statistics are the main search's; the helpers' nodes show only in getNodesSearched
+    public void addSearchListener(final SearchListener listener) {
+        this.mainSearch.addSearchListener(listener);
+    }
+
+    public int getDepthReached() {
+        return this.mainSearch.getDepthReached();
+    }
+
+    public void shutdown() {
+        if (this.executor != null) this.executor.shutdownNow();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, this.limits);
+    }
+
+    // the limits bound the main search; the helpers run until it returns
+    @Override
+    public Move execute(final Board board, final SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        this.transpositionTable.newSearch();
+
+        final AtomicBoolean stop = new AtomicBoolean();
+        final List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < this.helpers.length; i++) {
+            final AlphaBeta helper = this.helpers[i];
+            // half the helpers start a ply ahead of the main search, so they fill the table for its next iteration
+            final int startDepth = 1 + (i % 2 == 0 ? 1 : 0);
+            running.add(this.executor.submit(() -> runHelper(helper, SearchPosition.fromBoard(board), startDepth, limits.getMaxDepth(), stop)));
+        }
+
+        final int bestMove = this.mainSearch.iterate(SearchPosition.fromBoard(board), limits, startTime);
+        stop.set(true);
+        for (final Future<?> helper : running) {
+            try {
+                helper.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        this.nodesSearched = this.mainSearch.getNodesSearched();
+        for (final AlphaBeta helper : this.helpers) this.nodesSearched += helper.getNodesSearched();
+
+        if (bestMove == PackedMove.NONE) return null;
+        return Move.MoveFactory.createMove(board, bestMove);
+    }
+
+    @Override
+    public void stop() {
+        this.mainSearch.stop();
+    }
+
+    private static void runHelper(final AlphaBeta helper, final SearchPosition position, final int startDepth,
+                                  final int maxDepth, final AtomicBoolean stop) {
+        helper.reset();
+        helper.setStopFlag(stop);
+        for (int depth = startDepth; depth <= maxDepth && !stop.get(); depth++) {
+            helper.search(position, depth, AlphaBeta.NO_DEADLINE);
+        }
+    }
+
+    // usage: LazySmp [depth]; time to reach the depth on the reference positions with 1, 2, 4, 8 and 16 threads
+    public static void main(String... args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        // an untimed pass first, so the single thread baseline does not pay for the JIT
+        timeToDepth(1, depth);
+        long baseline = 0;
+        for (final int threads : new int[] {1, 2, 4, 8, 16}) {
+            final long elapsed = timeToDepth(threads, depth);
+            if (threads == 1) baseline = elapsed;
+            System.out.println(String.format("threads %2d  time to depth %d %8.3fs  speedup %5.2f",
+                    threads, depth, elapsed / 1e9, (double) baseline / elapsed));
+        }
+    }
+
+    private static long timeToDepth(final int threads, final int depth) {
+        final LazySmp strategy = new LazySmp(threads, depth, TimeControl.unlimited());
+        strategy.addSearchListener(new ConsoleSearchListener());
+        final long startTime = System.nanoTime();
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            strategy.execute(FenUtilities.createGameFromFEN(reference.getFen()));
+        }
+        final long elapsed = System.nanoTime() - startTime;
+        strategy.shutdown();
+        return elapsed;
+    }
+}
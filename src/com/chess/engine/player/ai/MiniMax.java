@@ -2,13 +2,20 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.Player;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchPosition;
 
 public class MiniMax implements MoveStrategy {
 
     private final BoardEvaluator boardEvaluator;
     private int searchDepth;
+    private MoveList[] moveLists;
+    private long nodesSearched;
+    // there are no cutoffs or tables to count, only nodes, time and the one iteration
+    private final SearchStatistics statistics = new SearchStatistics();
+    private final SearchListeners listeners = new SearchListeners();
 
     public MiniMax(int searchDepth) {
         boardEvaluator = new StandardBoardEvaluator();
@@ -20,25 +27,49 @@ public class MiniMax implements MoveStrategy {
         return "MiniMax";
     }
 
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    public SearchStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public void addSearchListener(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeSearchListener(final SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
     @Override
     public Move execute(Board board) {
 
-        final long startTime = System.currentTimeMillis();
-        Move bestMove = null;
+        final long startTime = System.nanoTime();
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        this.moveLists = new MoveList[searchDepth + 1];
+        for (int i = 0; i < this.moveLists.length; i++)
+            this.moveLists[i] = new MoveList();
+        this.nodesSearched = 0;
+        this.statistics.reset();
+        int bestMove = PackedMove.NONE;
         int highestSeenVal = Integer.MIN_VALUE;
         int lowestSeenVal = Integer.MAX_VALUE;
         int currentVal;
 
-        System.out.println(board.getCurrentPlayer() + " THINKING with depth = " + searchDepth);
-        int numMoves = board.getCurrentPlayer().getLegalMoves().size();
+        final MoveList moves = this.moveLists[searchDepth];
+        MoveGenerator.generateLegalMoves(position, moves);
 
-        for (Move m : board.getCurrentPlayer().getLegalMoves()) {
-            final MoveTransition transition = board.getCurrentPlayer().makeMove(m);
-            if (transition.getMoveStatus().isDone()) {
+        for (int i = 0; i < moves.size(); i++) {
+            final int m = moves.get(i);
+            if (position.makeMove(m)) {
 
                 currentVal = board.getCurrentPlayer().getAlliance().isWhite() ?
-                        min(transition.getTransitionBoard(), searchDepth - 1) :
-                        max(transition.getTransitionBoard(), searchDepth - 1);
+                        min(position, searchDepth - 1) :
+                        max(position, searchDepth - 1);
+                position.unmakeMove(m);
 
                 if (board.getCurrentPlayer().getAlliance().isWhite() && currentVal > highestSeenVal) {
                     highestSeenVal = currentVal;
@@ -49,41 +80,55 @@ public class MiniMax implements MoveStrategy {
                 }
             }
         }
-        final long executionTime = System.currentTimeMillis() - startTime;
-        System.out.println("Execution Time: " + executionTime);
+        final long elapsedNanos = System.nanoTime() - startTime;
+        if (bestMove != PackedMove.NONE) {
+            // the values are white's, the statistics keep the score of the side to move
+            final int score = board.getCurrentPlayer().getAlliance().isWhite() ? highestSeenVal : -lowestSeenVal;
+            this.statistics.iterationFinished(searchDepth, this.nodesSearched, elapsedNanos, score, new int[] {bestMove});
+            this.listeners.iterationFinished(this.statistics);
+        }
+        this.statistics.searchFinished(this.nodesSearched, elapsedNanos);
+        this.listeners.searchFinished(this.statistics);
 
-        return bestMove;
+        if (bestMove == PackedMove.NONE) return null;
+        return Move.MoveFactory.createMove(board, bestMove);
     }
 
-    private boolean isEndGameScenario(Player p) {
-        return p.isInCheckMate() || p.isInStaleMate();
+    private boolean isEndGameScenario(SearchPosition position) {
+        return !position.hasLegalMove();
     }
 
-    public int min(Board board, int depth) {
-        if (depth == 0 || isEndGameScenario(board.getCurrentPlayer())) {
-            return boardEvaluator.evaluate(board, depth);
+    public int min(SearchPosition position, int depth) {
+        this.nodesSearched++;
+        if (depth == 0 || isEndGameScenario(position)) {
+            return boardEvaluator.evaluate(position, depth);
         }
 
         int low = Integer.MAX_VALUE;
-        for (Move m : board.getCurrentPlayer().getLegalMoves()) {
-            MoveTransition transition = board.getCurrentPlayer().makeMove(m);
-            if (transition.getMoveStatus().isDone()) {
-                low = Math.min(low, max(transition.getTransitionBoard(), depth - 1));
+        final MoveList moves = this.moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (position.makeMove(moves.get(i))) {
+                low = Math.min(low, max(position, depth - 1));
+                position.unmakeMove(moves.get(i));
             }
         }
         return low;
     }
 
-    public int max(Board board, int depth) {
-        if (depth == 0 || isEndGameScenario(board.getCurrentPlayer())) {
-            return boardEvaluator.evaluate(board, depth);
+    public int max(SearchPosition position, int depth) {
+        this.nodesSearched++;
+        if (depth == 0 || isEndGameScenario(position)) {
+            return boardEvaluator.evaluate(position, depth);
         }
 
         int high = Integer.MIN_VALUE;
-        for (Move m : board.getCurrentPlayer().getLegalMoves()) {
-            MoveTransition transition = board.getCurrentPlayer().makeMove(m);
-            if (transition.getMoveStatus().isDone()) {
-                high = Math.max(high, min(transition.getTransitionBoard(), depth - 1));
+        final MoveList moves = this.moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (position.makeMove(moves.get(i))) {
+                high = Math.max(high, min(position, depth - 1));
+                position.unmakeMove(moves.get(i));
             }
         }
         return high;
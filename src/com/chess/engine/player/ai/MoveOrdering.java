@@ -0,0 +1,15 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchPosition;
+
+public interface MoveOrdering {
+
+    // moves with higher scores are searched first; ply counts from the root of the current search
+    int score(SearchPosition position, int move, int ply);
+
+    // told about every move that failed high, with the position as it was before the move
+    void onCutoff(SearchPosition position, int move, int ply, int depth);
+
+    void clear();
+
+}
@@ -7,4 +7,19 @@ public interface MoveStrategy {
 
     Move execute(Board board);
 
+    // AlphaBeta, ParallelAlphaBeta and the iterative searches honour the limits; by default they are ignored and the
+    // strategy searches as execute(board) does, as MiniMax, the exhaustive reference search, always does
+    default Move execute(Board board, SearchLimits limits) {
+        return execute(board);
+    }
+
+    // may be called from any thread by a strategy that overrides it: the running execute returns as soon as it can,
+    // with the best move found so far, and a request made while none runs is dropped; by default, as for MiniMax,
+    // it does nothing, so a front end that relies on stopping must not be given such a strategy
+    default void stop() {
+    }
+
+    // positions visited by the last execute, to compare how much of the tree each strategy searches
+    long getNodesSearched();
+
 }
@@ -0,0 +1,36 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchPosition;
+
+// most valuable victim first, cheapest attacker breaking ties; promotions rank with the captures
+public class MvvLvaOrdering implements MoveOrdering {
+
+    // above the killer and history scores, so every capture is tried before any quiet move
+    static final int CAPTURE_SCORE = 1 << 26;
+
+    @Override
+    public int score(final SearchPosition position, final int move, final int ply) {
+        if (!isTactical(move)) return 0;
+        int score = CAPTURE_SCORE;
+        if (PackedMove.isCapture(move)) {
+            score += PackedMove.getCapturedType(move).getValue() * 100 - PackedMove.getMovedType(move).getValue() / 100;
+        }
+        if (PackedMove.isPromotion(move)) {
+            score += PackedMove.getPromotionType(move).getValue() * 100;
+        }
+        return score;
+    }
+
+    @Override
+    public void onCutoff(final SearchPosition position, final int move, final int ply, final int depth) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    static boolean isTactical(final int move) {
+        return PackedMove.isCapture(move) || PackedMove.isPromotion(move);
+    }
+}
@@ -0,0 +1,252 @@
+package com.chess.engine.player.ai;
+
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.SearchPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// alpha-beta with the root moves spread over a fork-join pool: the first move is searched alone to set a bound,
+// then the rest run in parallel, each re-reading the best score so far before every reply
+public class ParallelAlphaBeta implements MoveStrategy {
+
+    private final int searchDepth;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final TranspositionTable transpositionTable;
+    // each pool thread keeps one search, with its own move lists, killers and history, across searches
+    private final ThreadLocal<AlphaBeta> worker;
+    // the searches that took part in the current execute, each reset as it joins
+    private final Set<AlphaBeta> workers = ConcurrentHashMap.newKeySet();
+    // shared by every worker, so a stop, or one worker running out of time or nodes, ends the whole search
+    private final AtomicBoolean stopFlag = new AtomicBoolean();
+    // the workers' statistics added together; the principal variation is the root move alone
+    private final SearchStatistics statistics = new SearchStatistics();
+    private final SearchListeners listeners = new SearchListeners();
+    private long nodesSearched;
+    private volatile boolean aborted;
+
+    // the depth, deadline and per-worker node limit of the current execute
+    private int depth;
+    private long deadline;
+    private long workerNodeLimit;
+
+    // the best root move so far; a tie goes to the move generated first, as in the sequential search
+    private int bestMove;
+    private int bestOrder;
+    private int bestValue;
+
+    // creates its own pool, which shutdown() releases
+    public ParallelAlphaBeta(final int searchDepth, final int parallelism) {
+        this(searchDepth, new ForkJoinPool(parallelism), null, true);
+    }
+
+    // runs on the caller's pool, which the caller shuts down
+    public ParallelAlphaBeta(final int searchDepth, final ForkJoinPool pool, final TranspositionTable transpositionTable) {
+        this(searchDepth, pool, transpositionTable, false);
+    }
+
+    private ParallelAlphaBeta(final int searchDepth, final ForkJoinPool pool, final TranspositionTable transpositionTable,
+                              final boolean ownsPool) {
+        this.searchDepth = searchDepth;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.transpositionTable = transpositionTable;
+        this.worker = ThreadLocal.withInitial(() -> {
+            final AlphaBeta alphaBeta = new AlphaBeta(this.searchDepth, CompositeMoveOrdering.standard(), this.transpositionTable);
+            alphaBeta.setStopFlag(this.stopFlag);
+            return alphaBeta;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelAlphaBeta";
+    }
+
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    // the last search's
+    public SearchStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public void addSearchListener(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeSearchListener(final SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    // stops the pool this strategy created; a pool passed in is left to its owner
+    public void shutdown() {
+        if (this.ownsPool) this.pool.shutdown();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchLimits.depth(this.searchDepth));
+    }
+
+    // searches to its own depth or the limit's, whichever is shallower; the node limit is shared out evenly between
+    // the pool's threads, and a search cut short answers with the best of the root moves that were finished
+    @Override
+    public Move execute(final Board board, final SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        final TimeControl timeControl = limits.getTimeControl();
+        this.stopFlag.set(false);
+        this.aborted = false;
+        this.depth = Math.min(this.searchDepth, limits.getMaxDepth());
+        this.deadline = timeControl.isUnlimited() ? AlphaBeta.NO_DEADLINE : startTime + timeControl.getBudgetMillis() * 1_000_000L;
+        this.workerNodeLimit = limits.getMaxNodes() == Long.MAX_VALUE ? Long.MAX_VALUE
+                : Math.max(1, limits.getMaxNodes() / this.pool.getParallelism());
+        this.workers.clear();
+        this.bestMove = PackedMove.NONE;
+        this.bestOrder = Integer.MAX_VALUE;
+        this.bestValue = -AlphaBeta.INFINITY;
+
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        final int[] ordered = orderRootMoves(position, moves);
+        if (ordered.length > 0) {
+            this.pool.invoke(new RootMoveTask(board, moves, ordered[0]));
+            final List<RootMoveTask> tasks = new ArrayList<>();
+            for (int i = 1; i < ordered.length; i++) tasks.add(new RootMoveTask(board, moves, ordered[i]));
+            if (this.stopFlag.get()) {
+                this.aborted = true;
+            } else {
+                this.pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+            }
+        }
+
+        this.nodesSearched = 0;
+        this.statistics.reset();
+        for (final AlphaBeta alphaBeta : this.workers) {
+            this.nodesSearched += alphaBeta.getNodesSearched();
+            this.statistics.add(alphaBeta.getStatistics());
+        }
+        final long elapsedNanos = System.nanoTime() - startTime;
+        if (!this.aborted && this.bestMove != PackedMove.NONE) {
+            this.statistics.iterationFinished(this.depth, this.nodesSearched, elapsedNanos, this.bestValue, new int[] {this.bestMove});
+            this.listeners.iterationFinished(this.statistics);
+        }
+        this.statistics.searchFinished(this.nodesSearched, elapsedNanos);
+        this.listeners.searchFinished(this.statistics);
+
+        if (this.bestMove == PackedMove.NONE && ordered.length > 0) return Move.MoveFactory.createMove(board, moves.get(ordered[0]));
+        if (this.bestMove == PackedMove.NONE) return null;
+        return Move.MoveFactory.createMove(board, this.bestMove);
+    }
+
+    // ends the search running now; a request made while none runs is dropped when the next one starts
+    @Override
+    public void stop() {
+        this.stopFlag.set(true);
+    }
+
+    // captures first, the rest in generation order; returns indices into the generated list
+    private static int[] orderRootMoves(final SearchPosition position, final MoveList moves) {
+        final MoveOrdering ordering = new MvvLvaOrdering();
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) order.add(i);
+        order.sort((a, b) -> Integer.compare(ordering.score(position, moves.get(b), 0), ordering.score(position, moves.get(a), 0)));
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // the alpha a root move is searched with: one lower for moves generated before the best, so a tie is seen
+    private synchronized int rootAlpha(final int order) {
+        if (this.bestMove == PackedMove.NONE) return -AlphaBeta.INFINITY;
+        return order < this.bestOrder ? this.bestValue - 1 : this.bestValue;
+    }
+
+    private synchronized void offer(final int move, final int order, final int value) {
+        if (this.bestMove == PackedMove.NONE || value > this.bestValue || value == this.bestValue && order < this.bestOrder) {
+            this.bestMove = move;
+            this.bestOrder = order;
+            this.bestValue = value;
+        }
+    }
+
+    private class RootMoveTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int move;
+        private final int order;
+
+        RootMoveTask(final Board board, final MoveList moves, final int order) {
+            this.board = board;
+            this.move = moves.get(order);
+            this.order = order;
+        }
+
+        @Override
+        protected void compute() {
+            final SearchPosition position = SearchPosition.fromBoard(this.board);
+            if (stopFlag.get()) {
+                aborted = true;
+                return;
+            }
+            if (!position.makeMove(this.move)) return;
+            final AlphaBeta alphaBeta = worker.get();
+            if (workers.add(alphaBeta)) {
+                alphaBeta.reset();
+                alphaBeta.setNodeLimit(workerNodeLimit);
+            }
+            final int value = alphaBeta.searchRootMove(position, depth, () -> rootAlpha(this.order), deadline);
+            if (alphaBeta.isAborted()) {
+                aborted = true;
+                stopFlag.set(true);
+                return;
+            }
+            offer(this.move, this.order, value);
+        }
+    }
+
+    // usage: ParallelAlphaBeta [depth] [maxThreads]; times the reference positions on 1, 2, 4... threads
+    public static void main(String... args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        // an untimed pass first, so the single thread baseline does not pay for the JIT
+        timeReferencePositions(depth, 1);
+        final long baseline = timeReferencePositions(depth, 1);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            final long elapsed = threads == 1 ? baseline : timeReferencePositions(depth, threads);
+            System.out.println(String.format("threads %2d  time %8.3fs  speedup %5.2f",
+                    threads, elapsed / 1e9, (double) baseline / elapsed));
+        }
+    }
+
+    private static long timeReferencePositions(final int depth, final int threads) {
+        final ParallelAlphaBeta strategy = new ParallelAlphaBeta(depth, threads);
+        final long startTime = System.nanoTime();
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            strategy.execute(FenUtilities.createGameFromFEN(reference.getFen()));
+        }
+        final long elapsed = System.nanoTime() - startTime;
+        strategy.shutdown();
+        return elapsed;
+    }
+}
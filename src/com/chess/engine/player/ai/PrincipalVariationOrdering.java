@@ -0,0 +1,40 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchPosition;
+
+// puts the previous iteration's principal variation first, but only in the positions along that line
+public class PrincipalVariationOrdering implements MoveOrdering {
+
+    // above every other band
+    static final int PV_SCORE = 1 << 28;
+
+    private final int[] moves = new int[SearchPosition.MAX_PLY];
+    private final long[] keys = new long[SearchPosition.MAX_PLY];
+    private int length;
+
+    // replays the line from the root to remember the key of each position on it
+    public void setPrincipalVariation(final SearchPosition root, final int[] principalVariation) {
+        this.length = 0;
+        for (final int move : principalVariation) {
+            this.moves[this.length] = move;
+            this.keys[this.length] = root.getZobristKey();
+            if (!root.makeMove(move)) break;
+            this.length++;
+        }
+        for (int i = this.length - 1; i >= 0; i--) root.unmakeMove(this.moves[i]);
+    }
+
+    @Override
+    public int score(final SearchPosition position, final int move, final int ply) {
+        return ply < this.length && this.moves[ply] == move && this.keys[ply] == position.getZobristKey() ? PV_SCORE : 0;
+    }
+
+    @Override
+    public void onCutoff(final SearchPosition position, final int move, final int ply, final int depth) {
+    }
+
+    @Override
+    public void clear() {
+        this.length = 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.chess.engine.player.ai;
+
+// when a search must return: at a depth, after a number of nodes or when its time runs out, whichever comes first;
+// a stop request ends any search, infinite or not
+public class SearchLimits {
+
+    private final int maxDepth;
+    private final long maxNodes;
+    private final TimeControl timeControl;
+
+    private SearchLimits(final Builder builder) {
+        this.maxDepth = builder.maxDepth;
+        this.maxNodes = builder.maxNodes;
+        this.timeControl = builder.timeControl;
+    }
+
+    public static SearchLimits depth(final int maxDepth) {
+        return new Builder().setMaxDepth(maxDepth).build();
+    }
+
+    public static SearchLimits nodes(final long maxNodes) {
+        return new Builder().setMaxNodes(maxNodes).build();
+    }
+
+    public static SearchLimits time(final TimeControl timeControl) {
+        return new Builder().setTimeControl(timeControl).build();
+    }
+
+    // searches until stopped, or until the deepest iteration there is has finished
+    public static SearchLimits infinite() {
+        return new Builder().build();
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    public TimeControl getTimeControl() {
+        return this.timeControl;
+    }
+
+    public boolean isInfinite() {
+        return this.maxDepth == IterativeDeepening.MAX_DEPTH && this.maxNodes == Long.MAX_VALUE && this.timeControl.isUnlimited();
+    }
+
+    public Builder toBuilder() {
+        return new Builder().setMaxDepth(this.maxDepth).setMaxNodes(this.maxNodes).setTimeControl(this.timeControl);
+    }
+
+    @Override
+    public String toString() {
+        if (isInfinite()) return "infinite";
+        return "depth " + this.maxDepth + (this.maxNodes == Long.MAX_VALUE ? "" : ", nodes " + this.maxNodes)
+                + ", time " + this.timeControl;
+    }
+
+    public static class Builder {
+
+        int maxDepth = IterativeDeepening.MAX_DEPTH;
+        long maxNodes = Long.MAX_VALUE;
+        TimeControl timeControl = TimeControl.unlimited();
+
+        public Builder setMaxDepth(final int maxDepth) {
+            if (maxDepth < 1 || maxDepth > IterativeDeepening.MAX_DEPTH) {
+                throw new IllegalArgumentException("Depth must be between 1 and " + IterativeDeepening.MAX_DEPTH + ", not " + maxDepth);
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public Builder setMaxNodes(final long maxNodes) {
+            if (maxNodes < 1) throw new IllegalArgumentException("Node limit must be positive, not " + maxNodes);
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public Builder setTimeControl(final TimeControl timeControl) {
+            this.timeControl = timeControl;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
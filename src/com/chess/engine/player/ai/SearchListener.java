@@ -0,0 +1,10 @@
+package com.chess.engine.player.ai;
+
+// told about a search as it runs, on the searching thread; the statistics passed in are a copy and may be kept
+public interface SearchListener {
+
+    void iterationFinished(SearchStatistics statistics);
+
+    void searchFinished(SearchStatistics statistics);
+
+}
@@ -0,0 +1,30 @@
+package com.chess.engine.player.ai;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// the listeners of one strategy; each is handed the same copy, made only when someone is listening
+class SearchListeners {
+
+    private final List<SearchListener> listeners = new CopyOnWriteArrayList<>();
+
+    void add(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    void remove(final SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    void iterationFinished(final SearchStatistics statistics) {
+        if (this.listeners.isEmpty()) return;
+        final SearchStatistics snapshot = statistics.copy();
+        for (final SearchListener listener : this.listeners) listener.iterationFinished(snapshot);
+    }
+
+    void searchFinished(final SearchStatistics statistics) {
+        if (this.listeners.isEmpty()) return;
+        final SearchStatistics snapshot = statistics.copy();
+        for (final SearchListener listener : this.listeners) listener.searchFinished(snapshot);
+    }
+}
@@ -0,0 +1,181 @@
+package com.chess.engine.player.ai;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+// publishes the statistics of the searches it listens to as an MBean, so monitoring can read the engine's
+// throughput from a running process
+public class SearchMetrics implements SearchMetricsMXBean, SearchListener {
+
+    private static final String DOMAIN = "com.chess.engine";
+
+    private final ObjectName objectName;
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong totalNodes = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private volatile SearchStatistics last = new SearchStatistics();
+
+    private SearchMetrics(final ObjectName objectName) {
+        this.objectName = objectName;
+    }
+
+    // registers under com.chess.engine:type=Search,name=<name> with the platform MBean server
+    public static SearchMetrics register(final String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final SearchMetrics metrics = new SearchMetrics(new ObjectName(DOMAIN + ":type=Search,name=" + ObjectName.quote(name)));
+            server.registerMBean(metrics, metrics.objectName);
+            return metrics;
+        } catch (final JMException e) {
+            throw new IllegalStateException("Could not register search metrics " + name, e);
+        }
+    }
+
+    public void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        } catch (final JMException e) {
+            throw new IllegalStateException("Could not unregister " + this.objectName, e);
+        }
+    }
+
+    public ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    @Override
+    public void iterationFinished(final SearchStatistics statistics) {
+    }
+
+    @Override
+    public void searchFinished(final SearchStatistics statistics) {
+        this.last = statistics;
+        this.searches.incrementAndGet();
+        this.totalNodes.addAndGet(statistics.getNodes());
+        this.totalNanos.addAndGet(statistics.elapsedNanos);
+    }
+
+    @Override
+    public long getSearches() {
+        return this.searches.get();
+    }
+
+    @Override
+    public long getTotalNodes() {
+        return this.totalNodes.get();
+    }
+
+    @Override
+    public long getAverageNodesPerSecond() {
+        final long nanos = this.totalNanos.get();
+        return nanos == 0 ? 0 : (long) (this.totalNodes.get() * 1e9 / nanos);
+    }
+
+    @Override
+    public long getNodes() {
+        return this.last.getNodes();
+    }
+
+    @Override
+    public long getQuiescenceNodes() {
+        return this.last.getQuiescenceNodes();
+    }
+
+    @Override
+    public long getNodesPerSecond() {
+        return this.last.getNodesPerSecond();
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return this.last.getElapsedMillis();
+    }
+
+    @Override
+    public int getDepth() {
+        return this.last.getDepth();
+    }
+
+    @Override
+    public double getEffectiveBranchingFactor() {
+        return this.last.getEffectiveBranchingFactor();
+    }
+
+    @Override
+    public long getTranspositionProbes() {
+        return this.last.getTranspositionProbes();
+    }
+
+    @Override
+    public long getTranspositionHits() {
+        return this.last.getTranspositionHits();
+    }
+
+    @Override
+    public double getTranspositionHitRate() {
+        return this.last.getTranspositionHitRate();
+    }
+
+    @Override
+    public long[] getCutoffsByMoveIndex() {
+        return this.last.getCutoffsByMoveIndex();
+    }
+
+    @Override
+    public double getFirstMoveCutoffRate() {
+        return this.last.getFirstMoveCutoffRate();
+    }
+
+    @Override
+    public long[] getIterationMillis() {
+        return this.last.getIterationMillis();
+    }
+
+    @Override
+    public long[] getIterationNodes() {
+        return this.last.getIterationNodes();
+    }
+
+    @Override
+    public long getNullMoveCutoffs() {
+        return this.last.getNullMoveCutoffs();
+    }
+
+    @Override
+    public long getLateMoveReductions() {
+        return this.last.getLateMoveReductions();
+    }
+
+    @Override
+    public long getLateMoveResearches() {
+        return this.last.getLateMoveResearches();
+    }
+
+    @Override
+    public long getFutilityPrunes() {
+        return this.last.getFutilityPrunes();
+    }
+
+    @Override
+    public long getRazoringCutoffs() {
+        return this.last.getRazoringCutoffs();
+    }
+
+    @Override
+    public long getPrincipalVariationResearches() {
+        return this.last.getPrincipalVariationResearches();
+    }
+
+    @Override
+    public long getAspirationFailHighs() {
+        return this.last.getAspirationFailHighs();
+    }
+
+    @Override
+    public long getAspirationFailLows() {
+        return this.last.getAspirationFailLows();
+    }
+}
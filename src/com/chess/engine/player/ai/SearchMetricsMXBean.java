@@ -0,0 +1,53 @@
+package com.chess.engine.player.ai;
+
+// what a live engine exposes over JMX: the last finished search, and totals since the engine started
+public interface SearchMetricsMXBean {
+
+    long getSearches();
+
+    long getTotalNodes();
+
+    long getAverageNodesPerSecond();
+
+    long getNodes();
+
+    long getQuiescenceNodes();
+
+    long getNodesPerSecond();
+
+    long getElapsedMillis();
+
+    int getDepth();
+
+    double getEffectiveBranchingFactor();
+
+    long getTranspositionProbes();
+
+    long getTranspositionHits();
+
+    double getTranspositionHitRate();
+
+    long[] getCutoffsByMoveIndex();
+
+    double getFirstMoveCutoffRate();
+
+    long[] getIterationMillis();
+
+    long[] getIterationNodes();
+
+    long getNullMoveCutoffs();
+
+    long getLateMoveReductions();
+
+    long getLateMoveResearches();
+
+    long getFutilityPrunes();
+
+    long getRazoringCutoffs();
+
+    long getPrincipalVariationResearches();
+
+    long getAspirationFailHighs();
+
+    long getAspirationFailLows();
+}
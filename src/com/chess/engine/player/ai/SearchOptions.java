@@ -0,0 +1,152 @@
+package com.chess.engine.player.ai;
+
+// the optional parts of AlphaBeta; with all of them off it scores exactly the leaves MiniMax does
+public class SearchOptions {
+
+    private final boolean quiescence;
+    private final boolean nullMove;
+    private final boolean lateMoveReductions;
+    private final boolean futility;
+    private final boolean razoring;
+    private final boolean principalVariationSearch;
+    private final int aspirationWindow;
+    private final int aspirationWidening;
+
+    private SearchOptions(final Builder builder) {
+        this.quiescence = builder.quiescence;
+        this.nullMove = builder.nullMove;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.futility = builder.futility;
+        this.razoring = builder.razoring;
+        this.principalVariationSearch = builder.principalVariationSearch;
+        this.aspirationWindow = builder.aspirationWindow;
+        this.aspirationWidening = builder.aspirationWidening;
+    }
+
+    public static SearchOptions exact() {
+        return new Builder().build();
+    }
+
+    // what the time-managed searches play with
+    public static SearchOptions standard() {
+        return new Builder().setQuiescence(true).setNullMove(true).setLateMoveReductions(true)
+                .setFutility(true).setRazoring(true).setPrincipalVariationSearch(true).setAspirationWindow(50)
+                .setAspirationWidening(4).build();
+    }
+
+    // at depth 0, follow captures and promotions until the position is quiet instead of scoring it as it stands
+    public boolean isQuiescence() {
+        return this.quiescence;
+    }
+
+    // let the opponent move twice; if that still fails high the node is cut off after a shallower search
+    public boolean isNullMove() {
+        return this.nullMove;
+    }
+
+    // search quiet moves late in the ordering less deeply, and again at full depth if they beat alpha
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    // skip quiet moves near the leaves when the static score is too far below alpha for them to matter
+    public boolean isFutility() {
+        return this.futility;
+    }
+
+    // near the leaves, drop straight into quiescence when the static score is far below alpha
+    public boolean isRazoring() {
+        return this.razoring;
+    }
+
+    // search every move after the first with a null window, and again with the full window only if it beats alpha
+    public boolean isPrincipalVariationSearch() {
+        return this.principalVariationSearch;
+    }
+
+    // how far either side of the last iteration's score the next one's root window starts; 0 searches with a full window
+    public int getAspirationWindow() {
+        return this.aspirationWindow;
+    }
+
+    // what the distance from the score to the bound that failed is multiplied by before searching again
+    public int getAspirationWidening() {
+        return this.aspirationWidening;
+    }
+
+    boolean needsStaticScore() {
+        return this.nullMove || this.futility || this.razoring;
+    }
+
+    public Builder toBuilder() {
+        return new Builder().setQuiescence(this.quiescence).setNullMove(this.nullMove)
+                .setLateMoveReductions(this.lateMoveReductions).setFutility(this.futility).setRazoring(this.razoring)
+                .setPrincipalVariationSearch(this.principalVariationSearch).setAspirationWindow(this.aspirationWindow)
+                .setAspirationWidening(this.aspirationWidening);
+    }
+
+    @Override
+    public String toString() {
+        return "quiescence " + this.quiescence + ", null move " + this.nullMove + ", reductions "
+                + this.lateMoveReductions + ", futility " + this.futility + ", razoring " + this.razoring
+                + ", pvs " + this.principalVariationSearch + ", aspiration " + this.aspirationWindow + " x" + this.aspirationWidening;
+    }
+
+    public static class Builder {
+
+        boolean quiescence;
+        boolean nullMove;
+        boolean lateMoveReductions;
+        boolean futility;
+        boolean razoring;
+        boolean principalVariationSearch;
+        int aspirationWindow;
+        int aspirationWidening = 2;
+
+        public Builder setQuiescence(final boolean quiescence) {
+            this.quiescence = quiescence;
+            return this;
+        }
+
+        public Builder setNullMove(final boolean nullMove) {
+            this.nullMove = nullMove;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setFutility(final boolean futility) {
+            this.futility = futility;
+            return this;
+        }
+
+        public Builder setRazoring(final boolean razoring) {
+            this.razoring = razoring;
+            return this;
+        }
+
+        public Builder setPrincipalVariationSearch(final boolean principalVariationSearch) {
+            this.principalVariationSearch = principalVariationSearch;
+            return this;
+        }
+
+        public Builder setAspirationWindow(final int aspirationWindow) {
+            if (aspirationWindow < 0) throw new IllegalArgumentException("Negative aspiration window " + aspirationWindow);
+            this.aspirationWindow = aspirationWindow;
+            return this;
+        }
+
+        public Builder setAspirationWidening(final int aspirationWidening) {
+            if (aspirationWidening < 2) throw new IllegalArgumentException("Aspiration widening must be at least 2, not " + aspirationWidening);
+            this.aspirationWidening = aspirationWidening;
+            return this;
+        }
+
+        public SearchOptions build() {
+            return new SearchOptions(this);
+        }
+    }
+}
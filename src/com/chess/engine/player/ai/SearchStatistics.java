@@ -0,0 +1,223 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+// what one search did: how much it searched and how fast, how well it ordered and cached, and what its selective
+// parts pruned, so their effect can be weighed against the nodes they saved
+public class SearchStatistics {
+
+    // cutoffs are counted by the rank of the move that caused them, the last slot taking every later rank
+    public static final int CUTOFF_RANKS = 8;
+
+    long nodes;
+    long quiescenceNodes;
+    long elapsedNanos;
+    long transpositionProbes;
+    long transpositionHits;
+    final long[] cutoffsByMoveIndex = new long[CUTOFF_RANKS];
+    int depth;
+    final long[] iterationNodes = new long[IterativeDeepening.MAX_DEPTH + 1];
+    final long[] iterationNanos = new long[IterativeDeepening.MAX_DEPTH + 1];
+    int score;
+    int[] principalVariation = new int[0];
+
+    long nullMoveCutoffs;
+    long lateMoveReductions;
+    long lateMoveResearches;
+    long futilityPrunes;
+    long razoringCutoffs;
+    long principalVariationResearches;
+    long aspirationFailHighs;
+    long aspirationFailLows;
+
+    void reset() {
+        this.nodes = 0;
+        this.quiescenceNodes = 0;
+        this.elapsedNanos = 0;
+        this.transpositionProbes = 0;
+        this.transpositionHits = 0;
+        Arrays.fill(this.cutoffsByMoveIndex, 0);
+        this.depth = 0;
+        Arrays.fill(this.iterationNodes, 0);
+        Arrays.fill(this.iterationNanos, 0);
+        this.score = 0;
+        this.principalVariation = new int[0];
+        this.nullMoveCutoffs = 0;
+        this.lateMoveReductions = 0;
+        this.lateMoveResearches = 0;
+        this.futilityPrunes = 0;
+        this.razoringCutoffs = 0;
+        this.principalVariationResearches = 0;
+        this.aspirationFailHighs = 0;
+        this.aspirationFailLows = 0;
+    }
+
+    // totals of several searches; the iterations of each are not comparable and are left out
+    void add(final SearchStatistics other) {
+        this.nodes += other.nodes;
+        this.quiescenceNodes += other.quiescenceNodes;
+        this.elapsedNanos += other.elapsedNanos;
+        this.transpositionProbes += other.transpositionProbes;
+        this.transpositionHits += other.transpositionHits;
+        for (int i = 0; i < CUTOFF_RANKS; i++) this.cutoffsByMoveIndex[i] += other.cutoffsByMoveIndex[i];
+        this.nullMoveCutoffs += other.nullMoveCutoffs;
+        this.lateMoveReductions += other.lateMoveReductions;
+        this.lateMoveResearches += other.lateMoveResearches;
+        this.futilityPrunes += other.futilityPrunes;
+        this.razoringCutoffs += other.razoringCutoffs;
+        this.principalVariationResearches += other.principalVariationResearches;
+        this.aspirationFailHighs += other.aspirationFailHighs;
+        this.aspirationFailLows += other.aspirationFailLows;
+    }
+
+    SearchStatistics copy() {
+        final SearchStatistics copy = new SearchStatistics();
+        copy.add(this);
+        copy.depth = this.depth;
+        System.arraycopy(this.iterationNodes, 0, copy.iterationNodes, 0, this.iterationNodes.length);
+        System.arraycopy(this.iterationNanos, 0, copy.iterationNanos, 0, this.iterationNanos.length);
+        copy.score = this.score;
+        copy.principalVariation = this.principalVariation;
+        return copy;
+    }
+
+    void countCutoff(final int moveIndex) {
+        this.cutoffsByMoveIndex[Math.min(moveIndex, CUTOFF_RANKS - 1)]++;
+    }
+
+    // the nodes and time of an iteration are what the totals grew by since the one before
+    void iterationFinished(final int depth, final long nodes, final long elapsedNanos, final int score,
+                           final int[] principalVariation) {
+        this.iterationNodes[depth] = nodes - this.nodes;
+        this.iterationNanos[depth] = elapsedNanos - this.elapsedNanos;
+        this.depth = depth;
+        this.score = score;
+        this.principalVariation = principalVariation;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // the totals include the iteration that was cut short, if any
+    void searchFinished(final long nodes, final long elapsedNanos) {
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // every node, including those of quiescence
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedNanos / 1_000_000L;
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : (long) (this.nodes * 1e9 / this.elapsedNanos);
+    }
+
+    // how many times more nodes the last finished iteration took than the one before it
+    public double getEffectiveBranchingFactor() {
+        if (this.depth < 2 || this.iterationNodes[this.depth - 1] == 0) return 0;
+        return (double) this.iterationNodes[this.depth] / this.iterationNodes[this.depth - 1];
+    }
+
+    public long getTranspositionProbes() {
+        return this.transpositionProbes;
+    }
+
+    public long getTranspositionHits() {
+        return this.transpositionHits;
+    }
+
+    public double getTranspositionHitRate() {
+        return this.transpositionProbes == 0 ? 0 : (double) this.transpositionHits / this.transpositionProbes;
+    }
+
+    public long[] getCutoffsByMoveIndex() {
+        return this.cutoffsByMoveIndex.clone();
+    }
+
+    // the share of cutoffs the first move tried caused, the usual measure of move ordering
+    public double getFirstMoveCutoffRate() {
+        long cutoffs = 0;
+        for (final long count : this.cutoffsByMoveIndex) cutoffs += count;
+        return cutoffs == 0 ? 0 : (double) this.cutoffsByMoveIndex[0] / cutoffs;
+    }
+
+    // the depth of the last iteration that finished
+    public int getDepth() {
+        return this.depth;
+    }
+
+    // the score of the last iteration that finished, from the side to move
+    public int getScore() {
+        return this.score;
+    }
+
+    // the packed moves the last finished iteration expects to be played
+    public int[] getPrincipalVariation() {
+        return this.principalVariation.clone();
+    }
+
+    // the time each finished iteration took, from depth 1
+    public long[] getIterationMillis() {
+        final long[] millis = new long[this.depth];
+        for (int i = 0; i < this.depth; i++) millis[i] = this.iterationNanos[i + 1] / 1_000_000L;
+        return millis;
+    }
+
+    public long[] getIterationNodes() {
+        return Arrays.copyOfRange(this.iterationNodes, 1, this.depth + 1);
+    }
+
+    public long getNullMoveCutoffs() {
+        return this.nullMoveCutoffs;
+    }
+
+    public long getLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    // reduced moves that beat alpha anyway and were searched again at full depth
+    public long getLateMoveResearches() {
+        return this.lateMoveResearches;
+    }
+
+    public long getFutilityPrunes() {
+        return this.futilityPrunes;
+    }
+
+    public long getRazoringCutoffs() {
+        return this.razoringCutoffs;
+    }
+
+    // moves that beat alpha on their null window and had to be searched again with the full one
+    public long getPrincipalVariationResearches() {
+        return this.principalVariationResearches;
+    }
+
+    // root searches that landed on or above the aspiration window and were repeated with a higher upper bound
+    public long getAspirationFailHighs() {
+        return this.aspirationFailHighs;
+    }
+
+    public long getAspirationFailLows() {
+        return this.aspirationFailLows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d, nodes %d (quiescence %d), %d nps, ebf %.2f, tt hits %d/%d, first move cutoffs %.1f%%",
+                this.depth, this.nodes, this.quiescenceNodes, getNodesPerSecond(), getEffectiveBranchingFactor(),
+                this.transpositionHits, this.transpositionProbes, getFirstMoveCutoffRate() * 100)
+                + ", null move cutoffs " + this.nullMoveCutoffs + ", reductions " + this.lateMoveReductions
+                + " (re-searched " + this.lateMoveResearches + "), futility prunes " + this.futilityPrunes
+                + ", razoring cutoffs " + this.razoringCutoffs + ", pvs re-searches " + this.principalVariationResearches
+                + ", aspiration fail highs " + this.aspirationFailHighs + ", fail lows " + this.aspirationFailLows;
+    }
+}
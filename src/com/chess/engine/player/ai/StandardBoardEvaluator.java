@@ -1,6 +1,10 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.SearchPosition;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -20,8 +24,18 @@ public class StandardBoardEvaluator implements BoardEvaluator {
         return scorePlayer(board, board.getWhitePlayer(), depth) - scorePlayer(board, board.getBlackPlayer(), depth);
     }
 
+    @Override
+    public int evaluate(SearchPosition position, int depth) {
+        return scorePlayer(position, Alliance.WHITE, depth) - scorePlayer(position, Alliance.BLACK, depth);
+    }
+
     private int scorePlayer(Board board, Player player, int depth) {
-        return pieceValue(player) + mobility(player) + check(player) + checkMate(player, depth) + castled(player);
+        return pieceValue(board, player) + mobility(player) + check(player) + checkMate(player, depth) + castled(player);
+    }
+
+    private int scorePlayer(SearchPosition position, Alliance alliance, int depth) {
+        return pieceValue(position, alliance) + MoveGenerator.countLegalMoves(position, alliance) + check(position, alliance)
+                + checkMate(position, alliance, depth);
     }
 
     private int castled(Player player) {
@@ -32,6 +46,12 @@ public class StandardBoardEvaluator implements BoardEvaluator {
         return player.getOpponent().isInCheckMate() ? CHECKMATE_BONUS * depthBonus(depth): 0;
     }
 
+    private int checkMate(SearchPosition position, Alliance alliance, int depth) {
+        final Alliance opponent = alliance.opposite();
+        return opponent == position.getSideToMove() && position.isInCheck(opponent) && !position.hasLegalMove() ?
+                CHECKMATE_BONUS * depthBonus(depth) : 0;
+    }
+
     private int depthBonus(int depth) {
         return depth == 0 ? 1 : DEPTH_BONUS * depth;
     }
@@ -40,14 +60,25 @@ public class StandardBoardEvaluator implements BoardEvaluator {
         return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
     }
 
+    private int check(SearchPosition position, Alliance alliance) {
+        return position.isInCheck(alliance.opposite()) ? CHECK_BONUS : 0;
+    }
+
     private int mobility(Player player) {
         return player.getLegalMoves().size();
     }
 
-    private int pieceValue(Player player) {
+    private int pieceValue(Board board, Player player) {
+        int sum = 0;
+        for (Piece.PieceType type : Piece.PieceType.values())
+            sum += BitBoards.count(board.getPieceBitBoard(player.getAlliance(), type)) * type.getValue();
+        return sum;
+    }
+
+    private int pieceValue(SearchPosition position, Alliance alliance) {
         int sum = 0;
-        for (Piece p : player.getActivePieces())
-            sum += p.getPieceValue();
+        for (Piece.PieceType type : Piece.PieceType.values())
+            sum += BitBoards.count(position.getPieceBitBoard(alliance, type)) * type.getValue();
         return sum;
     }
 }
@@ -0,0 +1,47 @@
+package com.chess.engine.player.ai;
+
+// how long the engine may think about one move
+public class TimeControl {
+
+    // assumed when the clock does not say how many moves are left before the next time control
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    // kept back from the clock for the time it takes to return a move and for the opponent's clock to start
+    private static final long SAFETY_MARGIN_MILLIS = 50;
+
+    private final long budgetMillis;
+
+    private TimeControl(final long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+    }
+
+    public static TimeControl fixed(final long millisPerMove) {
+        return new TimeControl(millisPerMove);
+    }
+
+    public static TimeControl fromClock(final long remainingMillis, final long incrementMillis) {
+        return fromClock(remainingMillis, incrementMillis, DEFAULT_MOVES_TO_GO);
+    }
+
+    // an even share of the remaining time plus most of the increment, never more than is left on the clock
+    public static TimeControl fromClock(final long remainingMillis, final long incrementMillis, final int movesToGo) {
+        final long share = remainingMillis / Math.max(1, movesToGo) + incrementMillis * 3 / 4;
+        return new TimeControl(Math.max(1, Math.min(share, remainingMillis - SAFETY_MARGIN_MILLIS)));
+    }
+
+    public static TimeControl unlimited() {
+        return new TimeControl(Long.MAX_VALUE);
+    }
+
+    public long getBudgetMillis() {
+        return this.budgetMillis;
+    }
+
+    public boolean isUnlimited() {
+        return this.budgetMillis == Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return isUnlimited() ? "unlimited" : this.budgetMillis + "ms";
+    }
+}
@@ -0,0 +1,153 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// a fixed size cache of search results keyed by zobrist key, shared by search threads without locks: each entry is
+// two longs, the key xor the data and the data, so an entry torn by two racing writers no longer matches its key
+// and reads as a miss
+public class TranspositionTable {
+
+    public static final long NO_ENTRY = 0L;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    // scores beyond this do not fit the entry and are not stored
+    public static final int MAX_SCORE = (1 << 27) - 1;
+
+    // data layout: move in bits 0-23, score in 24-51, depth in 52-57, bound in 58-59, age in 60-63
+    private static final int SCORE_SHIFT = 24;
+    private static final int DEPTH_SHIFT = 52;
+    private static final int BOUND_SHIFT = 58;
+    private static final int AGE_SHIFT = 60;
+    private static final int MAX_DEPTH = 63;
+    private static final int AGES = 16;
+
+    // two entries of two longs each: a depth-preferred slot, then an always-replace slot
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int FILL_SAMPLE_BUCKETS = 1000;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int age;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public TranspositionTable(final int megabytes) {
+        long buckets = 1;
+        while (buckets * 2 * BYTES_PER_BUCKET <= (long) megabytes * 1024 * 1024) buckets *= 2;
+        this.table = new long[(int) buckets * LONGS_PER_BUCKET];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    public long probe(final long key) {
+        this.probes.increment();
+        final int bucket = bucketIndex(key);
+        for (int i = bucket; i < bucket + LONGS_PER_BUCKET; i += 2) {
+            final long data = this.table[i + 1];
+            if ((this.table[i] ^ data) == key && data != NO_ENTRY) {
+                this.hits.increment();
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    // the first slot keeps the deepest result of the current search, anything it turns away goes to the second
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        if (score > MAX_SCORE || score < -MAX_SCORE) return;
+        this.stores.increment();
+        final long data = pack(move, score, depth, bound, this.age);
+        final int bucket = bucketIndex(key);
+        final long preferred = this.table[bucket + 1];
+        final int slot = (this.table[bucket] ^ preferred) == key || preferred == NO_ENTRY
+                || getAge(preferred) != this.age || depth >= getDepth(preferred) ? bucket : bucket + 2;
+        this.table[slot] = key ^ data;
+        this.table[slot + 1] = data;
+    }
+
+    // entries from earlier searches stay usable but are the first to be replaced
+    public void newSearch() {
+        this.age = (this.age + 1) % AGES;
+    }
+
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+        this.probes.reset();
+        this.hits.reset();
+        this.stores.reset();
+    }
+
+    public static int getMove(final long entry) {
+        return (int) (entry & 0xFFFFFF);
+    }
+
+    public static int getScore(final long entry) {
+        return (int) (entry << (64 - DEPTH_SHIFT) >> (64 - DEPTH_SHIFT + SCORE_SHIFT));
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    public static int getBound(final long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    private static int getAge(final long entry) {
+        return (int) (entry >>> AGE_SHIFT);
+    }
+
+    private static long pack(final int move, final int score, final int depth, final int bound, final int age) {
+        return (move & 0xFFFFFFL)
+                | ((long) score & ((1L << (DEPTH_SHIFT - SCORE_SHIFT)) - 1)) << SCORE_SHIFT
+                | (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) age << AGE_SHIFT;
+    }
+
+    private int bucketIndex(final long key) {
+        return ((int) key & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    public int getCapacity() {
+        return this.table.length / 2;
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getStores() {
+        return this.stores.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    // the share of entries written during the current search, estimated from the first buckets
+    public double getFillRate() {
+        final int buckets = Math.min(FILL_SAMPLE_BUCKETS, this.bucketMask + 1);
+        int filled = 0;
+        for (int i = 0; i < buckets * LONGS_PER_BUCKET; i += 2) {
+            final long data = this.table[i + 1];
+            if (data != NO_ENTRY && getAge(data) == this.age) filled++;
+        }
+        return (double) filled / (buckets * 2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits %.1f%%, fill %.1f%%", getHitRate() * 100, getFillRate() * 100);
+    }
+}
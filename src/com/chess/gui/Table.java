@@ -1,5 +1,8 @@
 package com.chess.gui;
 
+import com.chess.PGN.PGNGame;
+import com.chess.PGN.PGNReader;
+import com.chess.PGN.ParsePGNException;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
@@ -7,8 +10,13 @@ import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveStatus;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.IterativeDeepening;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchMetrics;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.engine.player.ai.TimeControl;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.google.common.collect.Lists;
 
 import javax.imageio.ImageIO;
@@ -16,6 +24,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -30,7 +40,10 @@ public class Table extends Observable {
     private Board board;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final TranspositionTable transpositionTable;
+    private final SearchMetrics searchMetrics;
     private Move computerMove;
+    private AIThinkTank thinkTank;
 
     private Tile sourceTile, destTile;
     private Piece humanMovedPiece;
@@ -59,12 +72,21 @@ public class Table extends Observable {
         this.jFrame.setJMenuBar(createTableMenuBar());
         this.jFrame.setSize(DIMENSION);
         this.gameSetup = new GameSetup(this.jFrame, true);
+        this.transpositionTable = new TranspositionTable(IterativeDeepening.DEFAULT_HASH_MEGABYTES);
+        this.searchMetrics = SearchMetrics.register("Table");
         this.boardDirection = BoardDirection.NORMAL;
         this.boardPanel = new BoardPanel();
         this.highlightLegalMoves = false;
         this.jFrame.add(this.boardPanel, BorderLayout.CENTER);
         this.jFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.jFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
+        this.jFrame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        this.jFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(final WindowEvent e) {
+                stopThinking();
+            }
+        });
         this.jFrame.setVisible(true);
         this.addObserver(new TableGameAIWatcher());
     }
@@ -77,6 +99,11 @@ public class Table extends Observable {
         return this.gameSetup;
     }
 
+    // kept for the whole session, so the engine's next search starts from what it learned on this one
+    private TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
     private JMenuBar createTableMenuBar() {
         final JMenuBar jMenuBar = new JMenuBar();
         jMenuBar.add(createFileMenu());
@@ -87,22 +114,61 @@ public class Table extends Observable {
 
     private JMenu createFileMenu() {
         JMenu menu = new JMenu("File");
-        JMenuItem item1 = new JMenuItem("Load PGN File");
+        JMenuItem newGame = new JMenuItem("New Game");
+        newGame.addActionListener(e -> {
+            stopThinking();
+            updateGameBoard(Board.createStandardBoard());
+            Table.show();
+            setupUpdate(this.gameSetup);
+        });
+
+        JMenuItem item1 = new JMenuItem("Load PGN File (first game)");
         item1.addActionListener(e -> {
-            System.out.println("open pgn file");
+            final JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this.jFrame) == JFileChooser.APPROVE_OPTION) {
+                loadPGNFile(chooser.getSelectedFile());
+            }
         });
 
         JMenuItem exit = new JMenuItem("Exit");
         exit.addActionListener(e -> {
+            stopThinking();
             System.exit(0);
         });
 
+        menu.add(newGame);
         menu.add(item1);
         menu.add(exit);
 
         return menu;
     }
 
+    // shows the first game of the file; the reader maps the file, so opening a large database costs no more
+    private void loadPGNFile(final File pgnFile) {
+        stopThinking();
+        try (final PGNReader reader = new PGNReader(pgnFile)) {
+            final PGNGame game = reader.readGame();
+            if (game == null) {
+                JOptionPane.showMessageDialog(this.jFrame, "No games found in " + pgnFile.getName());
+                return;
+            }
+
+            this.moveLog.clear();
+            for (final Move move : game.getMoves()) {
+                this.moveLog.addMove(move);
+            }
+            updateGameBoard(game.getFinalBoard());
+            this.gameHistoryPanel.redo(this.board, this.moveLog);
+            this.takenPiecesPanel.redo(this.moveLog);
+            this.boardPanel.drawBoard(this.board);
+            if (reader.readGame() != null) {
+                JOptionPane.showMessageDialog(this.jFrame, pgnFile.getName() + " holds more than one game; showing the first: " + game);
+            }
+        } catch (final IOException | ParsePGNException e) {
+            JOptionPane.showMessageDialog(this.jFrame, "Could not load " + pgnFile.getName() + ": " + e.getMessage());
+        }
+    }
+
     private JMenu createPreferencesMenu() {
         JMenu menu = new JMenu("Preferences");
         JMenuItem item1 = new JMenuItem("Flip Board");
@@ -125,11 +191,19 @@ public class Table extends Observable {
         JMenu optionsMenu = new JMenu("Options");
         JMenuItem setUpGameMenuItem = new JMenuItem("Set Up Game");
         setUpGameMenuItem.addActionListener(e -> {
+            Table.get().stopThinking();
             Table.get().getGameSetup().promptUser();
             Table.get().setupUpdate(Table.get().getGameSetup());
         });
 
+        // the engine plays the best move it has found so far
+        JMenuItem moveNowMenuItem = new JMenuItem("Move Now");
+        moveNowMenuItem.addActionListener(e -> {
+            if (this.thinkTank != null) this.thinkTank.moveNow();
+        });
+
         optionsMenu.add(setUpGameMenuItem);
+        optionsMenu.add(moveNowMenuItem);
         return optionsMenu;
     }
 
@@ -154,8 +228,8 @@ public class Table extends Observable {
                 !Table.get().getBoard().getCurrentPlayer().isInCheckMate() &&
                 !Table.get().getBoard().getCurrentPlayer().isInStaleMate()) {
 
-                    final AIThinkTank thinkTank = new AIThinkTank();
-                    thinkTank.execute();
+                    Table.get().thinkTank = new AIThinkTank();
+                    Table.get().thinkTank.execute();
 
             }
 
@@ -169,6 +243,14 @@ public class Table extends Observable {
         }
     }
 
+    // abandons the engine's search without playing its move, when the position it is thinking about goes away
+    private void stopThinking() {
+        if (this.thinkTank != null) {
+            this.thinkTank.abort();
+            this.thinkTank = null;
+        }
+    }
+
     private void updateGameBoard(Board board) {
         this.board = board;
     }
@@ -199,17 +281,53 @@ public class Table extends Observable {
     }
 
     private static class AIThinkTank extends SwingWorker<Move, String> {
-        private AIThinkTank() { }
+
+        private final MoveStrategy strategy;
+        private final Board board;
+        private volatile boolean stopRequested;
+
+        // made on the event thread, so the search can be stopped before the worker has even started it; a search
+        // drops a stop that came before it started, so the request is made again once its first iteration is done
+        private AIThinkTank() {
+            final GameSetup gameSetup = Table.get().getGameSetup();
+            final IterativeDeepening iterativeDeepening = new IterativeDeepening(gameSetup.getSearchDepth(), gameSetup.getSecondsPerMove() > 0
+                    ? TimeControl.fixed(gameSetup.getSecondsPerMove() * 1000L) : TimeControl.unlimited(), Table.get().getTranspositionTable());
+            iterativeDeepening.addSearchListener(Table.get().searchMetrics);
+            iterativeDeepening.addSearchListener(new SearchListener() {
+                @Override
+                public void iterationFinished(final SearchStatistics statistics) {
+                    if (stopRequested) iterativeDeepening.stop();
+                }
+
+                @Override
+                public void searchFinished(final SearchStatistics statistics) {
+                }
+            });
+            this.strategy = iterativeDeepening;
+            this.board = Table.get().getBoard();
+        }
 
         @Override
         protected Move doInBackground() throws Exception {
-            final MoveStrategy strategy = new MiniMax(Table.get().getGameSetup().getSearchDepth());
-            final Move bestMove = strategy.execute(Table.get().getBoard());
+            final Move bestMove = this.strategy.execute(this.board);
             return bestMove;
         }
 
+        private void moveNow() {
+            this.stopRequested = true;
+            this.strategy.stop();
+        }
+
+        private void abort() {
+            cancel(false);
+            this.stopRequested = true;
+            this.strategy.stop();
+        }
+
         @Override
         public void done() {
+            if (isCancelled()) return;
+            Table.get().thinkTank = null;
             try {
                 final Move bestMove = get();
 
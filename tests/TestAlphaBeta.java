@@ -0,0 +1,49 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.MvvLvaOrdering;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestAlphaBeta {
+
+    private static final List<String> REGRESSION_POSITIONS = new ArrayList<>();
+
+    static {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) REGRESSION_POSITIONS.add(reference.getFen());
+        REGRESSION_POSITIONS.add("rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq - 0 2");
+        REGRESSION_POSITIONS.add("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4");
+        REGRESSION_POSITIONS.add("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+        REGRESSION_POSITIONS.add("r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 5 4");
+    }
+
+    @Test
+    public void testSameMoveAsMiniMax() {
+        for (final String fen : REGRESSION_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            final MoveStrategy miniMax = new MiniMax(3);
+            final MoveStrategy alphaBeta = new AlphaBeta(3);
+            final Move expected = miniMax.execute(board);
+            assertEquals(expected, alphaBeta.execute(board), fen);
+            assertTrue(alphaBeta.getNodesSearched() < miniMax.getNodesSearched(), fen);
+        }
+    }
+
+    @Test
+    public void testOrderingDoesNotChangeMove() {
+        final Board board = FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(1).getFen());
+        final AlphaBeta standard = new AlphaBeta(4);
+        final AlphaBeta capturesOnly = new AlphaBeta(4, new MvvLvaOrdering());
+        assertEquals(standard.execute(board), capturesOnly.execute(board));
+        assertTrue(standard.getNodesSearched() <= capturesOnly.getNodesSearched());
+    }
+}
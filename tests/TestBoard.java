@@ -1,6 +1,8 @@
+import com.chess.PGN.FenUtilities;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.chess.engine.board.Move.MoveFactory;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestBoard {
@@ -43,5 +46,26 @@ public class TestBoard {
 
     }
 
+    @Test
+    public void testMoveIndex() {
+        final Board board = FenUtilities.createGameFromFEN("1r5k/P7/8/8/8/8/8/K7 w - - 0 1");
+        final int a7 = BoardUtils.getCoordinateAtPosition("a7");
+        final int a8 = BoardUtils.getCoordinateAtPosition("a8");
+        final int b8 = BoardUtils.getCoordinateAtPosition("b8");
+
+        final Move queen = MoveFactory.createMove(board, a7, a8);
+        assertEquals(PieceType.QUEEN, ((Move.PawnPromotion) queen).getPromotionType());
+        final Move knight = MoveFactory.createMove(board, a7, b8, PieceType.KNIGHT);
+        assertEquals(PieceType.KNIGHT, ((Move.PawnPromotion) knight).getPromotionType());
+        assertTrue(knight.isAttack());
+
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            assertTrue(board.getCurrentPlayer().isMoveLegal(move));
+            assertTrue(board.getCurrentPlayer().isMoveLegal(MoveFactory.createMove(board, move.toPackedMove())));
+        }
+        assertFalse(board.getCurrentPlayer().isMoveLegal(MoveFactory.createMove(board, a8, b8)));
+        assertFalse(board.getCurrentPlayer().isMoveLegal(MoveFactory.createMove(board, b8, a8)));
+    }
+
 
 }
@@ -0,0 +1,68 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Perft;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.chess.engine.board.Move.MoveFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestFenUtilities {
+
+    @Test
+    public void testRoundTrip() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            assertEquals(reference.getFen(), FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(reference.getFen())));
+        }
+        final String partialCastling = "r3k2r/8/8/8/8/8/8/R3K2R w Kq - 12 40";
+        assertEquals(partialCastling, FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(partialCastling)));
+        assertEquals(Board.createStandardBoard(), FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(0).getFen()));
+    }
+
+    @Test
+    public void testMovesUpdateEnPassantAndCounters() {
+        Board board = Board.createStandardBoard();
+        board = play(board, "e2", "e4");
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", FenUtilities.createFENFromGame(board));
+        board = play(play(board, "e7", "e5"), "g1", "f3");
+        assertEquals("rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2", FenUtilities.createFENFromGame(board));
+        board = play(play(board, "b8", "c6"), "e1", "e2");
+        assertEquals("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPPKPPP/RNBQ1B1R b kq - 3 3", FenUtilities.createFENFromGame(board));
+        assertEquals(board, FenUtilities.createGameFromFEN(FenUtilities.createFENFromGame(board)));
+    }
+
+    @Test
+    public void testParseSlices() {
+        final String kiwipete = Perft.REFERENCE_POSITIONS.get(1).getFen();
+        final String line = "id \"kiwipete\"; " + kiwipete + "\n";
+        final int start = line.indexOf(';') + 2;
+        assertEquals(kiwipete, FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(line, start, line.length() - 1)));
+
+        final ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        buffer.position(start).limit(line.length() - 1);
+        assertEquals(kiwipete, FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(buffer)));
+        assertEquals(start, buffer.position());
+
+        assertEquals("8/8/8/8/8/8/8/K6k w - - 0 1", FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN("8/8/8/8/8/8/8/K6k w - -")));
+    }
+
+    @Test
+    public void testRejectsMalformedFen() {
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("8/8/8/8/8/8/8/K6k x - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("8/8/8/8/8/8/8/K6z w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("8/8/8/8/8/8/K6k w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("8/8/8/8/8/8/8/K6k w - z9 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("7/9/8/8/8/8/8/K6k w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("8/8/8/8/8/8/8/K5k2 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN("8/8/8/8/8/8/8/K6k w - e6 0 1"));
+    }
+
+    private static Board play(final Board board, final String from, final String to) {
+        return board.getCurrentPlayer().makeMove(MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition(from), BoardUtils.getCoordinateAtPosition(to))).getTransitionBoard();
+    }
+}
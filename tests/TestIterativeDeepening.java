@@ -0,0 +1,49 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.CompositeMoveOrdering;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.SearchOptions;
+import com.chess.engine.player.ai.TimeControl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestIterativeDeepening {
+
+    @Test
+    public void testSameMoveAsFixedDepth() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            final IterativeDeepening iterativeDeepening = new IterativeDeepening(4, TimeControl.unlimited(), null);
+            final AlphaBeta alphaBeta = new AlphaBeta(4, CompositeMoveOrdering.standard(), null, SearchOptions.standard());
+            assertEquals(alphaBeta.execute(board), iterativeDeepening.execute(board), reference.getName());
+            assertEquals(4, iterativeDeepening.getDepthReached());
+        }
+    }
+
+    @Test
+    public void testStopsWithinBudget() {
+        final Board board = FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(1).getFen());
+        final IterativeDeepening iterativeDeepening = new IterativeDeepening(TimeControl.fixed(300));
+        final long startTime = System.currentTimeMillis();
+        final Move move = iterativeDeepening.execute(board);
+        final long elapsed = System.currentTimeMillis() - startTime;
+
+        assertTrue(board.getCurrentPlayer().isMoveLegal(move));
+        assertTrue(iterativeDeepening.getDepthReached() >= 1);
+        assertTrue(iterativeDeepening.getDepthReached() < IterativeDeepening.MAX_DEPTH);
+        assertTrue(elapsed < 1000, "took " + elapsed + "ms");
+    }
+
+    @Test
+    public void testClockBudget() {
+        assertEquals(1000 + 1500, TimeControl.fromClock(30_000, 2000).getBudgetMillis());
+        assertEquals(2000 + 750, TimeControl.fromClock(20_000, 1000, 10).getBudgetMillis());
+        assertEquals(50, TimeControl.fromClock(100, 5000).getBudgetMillis());
+        assertTrue(TimeControl.unlimited().isUnlimited());
+    }
+}
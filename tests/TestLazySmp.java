@@ -0,0 +1,45 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.LazySmp;
+import com.chess.engine.player.ai.TimeControl;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestLazySmp {
+
+    @Test
+    public void testSingleThreadMatchesIterativeDeepening() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            final LazySmp lazySmp = new LazySmp(1, 4, TimeControl.unlimited(), new TranspositionTable(1));
+            final IterativeDeepening iterativeDeepening = new IterativeDeepening(4, TimeControl.unlimited(), new TranspositionTable(1));
+            assertEquals(iterativeDeepening.execute(board), lazySmp.execute(board), reference.getName());
+            assertEquals(iterativeDeepening.getNodesSearched(), lazySmp.getNodesSearched(), reference.getName());
+        }
+    }
+
+    @Test
+    public void testHelpersReachDepth() {
+        final LazySmp lazySmp = new LazySmp(4, 4, TimeControl.unlimited(), new TranspositionTable(1));
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            final Move move = lazySmp.execute(board);
+            assertTrue(board.getCurrentPlayer().isMoveLegal(move), reference.getName());
+            assertEquals(4, lazySmp.getDepthReached());
+        }
+        lazySmp.shutdown();
+    }
+
+    @Test
+    public void testRejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LazySmp(0, 4, TimeControl.unlimited()));
+        assertThrows(IllegalArgumentException.class, () -> new LazySmp(2, 4, TimeControl.unlimited(), null));
+    }
+}
@@ -0,0 +1,91 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchPosition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestMoveGenerator {
+
+    @Test
+    public void testPinnedPieceKeepsToThePinLine() {
+        final SearchPosition knight = position("4k3/8/8/8/4r3/8/4N3/4K3 w - - 0 1");
+        assertFalse(hasMoveFrom(knight, "e2"));
+
+        final SearchPosition rook = position("4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1");
+        final MoveList moves = legalMoves(rook);
+        int rookMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.getFrom(moves.get(i)) != square("e2")) continue;
+            assertEquals(square("e2") % BoardUtils.NUM_TILES_ROW, PackedMove.getTo(moves.get(i)) % BoardUtils.NUM_TILES_ROW);
+            rookMoves++;
+        }
+        assertEquals(5, rookMoves);
+        assertMatchesTrialMoves(knight);
+        assertMatchesTrialMoves(rook);
+    }
+
+    @Test
+    public void testDoubleCheckLeavesOnlyKingMoves() {
+        // knight and rook both give check; the bishop could take the knight but that does not answer the rook,
+        // and f1 stays covered by the rook once the king steps off e1
+        final SearchPosition position = position("4k3/8/8/8/8/5n2/4B3/r3K3 w - - 0 1");
+        final MoveList moves = legalMoves(position);
+        assertEquals(1, moves.size());
+        assertEquals("e1f2", PackedMove.toString(moves.get(0)));
+        assertMatchesTrialMoves(position);
+    }
+
+    @Test
+    public void testEnPassantDiscoveringCheckIsIllegal() {
+        // taking on c6 lifts both pawns off the fifth rank and opens it to the rook
+        final SearchPosition position = position("8/8/8/KPp4r/8/8/8/4k3 w - c6 0 1");
+        final MoveList moves = legalMoves(position);
+        for (int i = 0; i < moves.size(); i++) {
+            assertFalse(PackedMove.getFlag(moves.get(i)) == PackedMove.EN_PASSANT, PackedMove.toString(moves.get(i)));
+        }
+        assertTrue(hasMoveFrom(position, "b5"));
+        assertMatchesTrialMoves(position);
+    }
+
+    // the moves the pin and check aware generator emits are exactly the pseudo-legal ones that survive being made
+    private static void assertMatchesTrialMoves(final SearchPosition position) {
+        final MoveList pseudoLegal = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(position, pseudoLegal);
+        int legal = 0;
+        for (int i = 0; i < pseudoLegal.size(); i++) {
+            if (position.makeMove(pseudoLegal.get(i))) {
+                position.unmakeMove(pseudoLegal.get(i));
+                legal++;
+            }
+        }
+        assertEquals(legal, legalMoves(position).size(), position.toString());
+    }
+
+    private static boolean hasMoveFrom(final SearchPosition position, final String from) {
+        final MoveList moves = legalMoves(position);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.getFrom(moves.get(i)) == square(from)) return true;
+        }
+        return false;
+    }
+
+    private static MoveList legalMoves(final SearchPosition position) {
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        return moves;
+    }
+
+    private static SearchPosition position(final String fen) {
+        return SearchPosition.fromBoard(FenUtilities.createGameFromFEN(fen));
+    }
+
+    private static int square(final String name) {
+        return BoardUtils.getCoordinateAtPosition(name);
+    }
+}
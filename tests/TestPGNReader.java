@@ -0,0 +1,91 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.PGN.PGNGame;
+import com.chess.PGN.PGNReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestPGNReader {
+
+    private static final String OPERA_GAME =
+            "[Event \"Paris\"]\n" +
+            "[White \"Paul Morphy\"]\n" +
+            "[Black \"Duke Karl / Count Isouard\"]\n" +
+            "[Result \"1-0\"]\n" +
+            "\n" +
+            "1. e4 e5 2. Nf3 d6 3. d4 Bg4 4. dxe5 Bxf3 5. Qxf3 dxe5 6. Bc4 Nf6 7. Qb3 Qe7\n" +
+            "8. Nc3 c6 9. Bg5 b5 10. Nxb5 cxb5 11. Bxb5+ Nbd7 12. O-O-O Rd8 13. Rxd7 Rxd7\n" +
+            "14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ Nxb8 17. Rd8# 1-0\n";
+
+    private static final String ANNOTATED_GAME =
+            "[Event \"Annotated \\\"test\\\"\"]\n" +
+            "[Result \"1/2-1/2\"]\n" +
+            "\n" +
+            "1. e4 {king pawn} Nf6 2. e5 d5 3. exd6 (3. Nf3 Bg4) 3... Qxd6 $2 4. Nf3 Bg4\n" +
+            "5. Be2 Nc6 6. O-O O-O-O ; both kings castled\n" +
+            "1/2-1/2\n";
+
+    private static final String PROMOTION_GAME =
+            "[Event \"Promotion\"]\n" +
+            "[SetUp \"1\"]\n" +
+            "[FEN \"8/P6k/8/8/8/8/6K1/8 w - - 0 1\"]\n" +
+            "[Result \"*\"]\n" +
+            "\n" +
+            "1. a8=Q Kg6 2. Qg8+ Kf5 *\n";
+
+    @Test
+    public void testReadsGamesLazily() throws IOException {
+        final File file = writeGames(OPERA_GAME + "\n" + ANNOTATED_GAME + "\r\n" + PROMOTION_GAME);
+        try (final PGNReader reader = new PGNReader(file)) {
+            final List<PGNGame> games = new ArrayList<>();
+            for (final PGNGame game : reader) games.add(game);
+            assertEquals(3, games.size());
+
+            final PGNGame opera = games.get(0);
+            assertEquals("Paul Morphy", opera.getTag("White"));
+            assertEquals("1-0", opera.getResult());
+            assertEquals(33, opera.getMoves().size());
+            assertEquals(true, opera.getFinalBoard().getCurrentPlayer().isInCheckMate());
+
+            final PGNGame annotated = games.get(1);
+            assertEquals("Annotated \"test\"", annotated.getTag("Event"));
+            assertEquals(12, annotated.getMoveText().size());
+            assertEquals("2kr1b1r/ppp1pppp/2nq1n2/8/6b1/5N2/PPPPBPPP/RNBQ1RK1 w - - 6 7",
+                    FenUtilities.createFENFromGame(annotated.getFinalBoard()));
+
+            assertEquals("6Q1/8/8/5k2/8/8/6K1/8 w - - 3 3", FenUtilities.createFENFromGame(games.get(2).getFinalBoard()));
+            assertNull(reader.readGame());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testParallelStreamKeepsEveryGame() throws IOException {
+        final StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < 600; i++) pgn.append(i % 2 == 0 ? OPERA_GAME : ANNOTATED_GAME).append('\n');
+        final File file = writeGames(pgn.toString());
+        try (final PGNReader reader = new PGNReader(file)) {
+            final List<Integer> plies = reader.stream(true).map(game -> game.getMoves().size()).collect(Collectors.toList());
+            assertEquals(600, plies.size());
+            for (int i = 0; i < plies.size(); i++) assertEquals(i % 2 == 0 ? 33 : 12, (int) plies.get(i));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static File writeGames(final String pgn) throws IOException {
+        final File file = File.createTempFile("games", ".pgn");
+        Files.write(file.toPath(), pgn.getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+}
@@ -0,0 +1,21 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestParallelAlphaBeta {
+
+    @Test
+    public void testSameMoveAsSequential() {
+        final ParallelAlphaBeta parallel = new ParallelAlphaBeta(4, 4);
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            assertEquals(new AlphaBeta(4).execute(board), parallel.execute(board), reference.getName());
+        }
+        parallel.shutdown();
+    }
+}
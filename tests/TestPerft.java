@@ -0,0 +1,43 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.SearchPosition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestPerft {
+
+    @Test
+    public void testSearchPositionPerft() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final SearchPosition position = SearchPosition.fromBoard(FenUtilities.createGameFromFEN(reference.getFen()));
+            for (int depth = 1; depth <= 4; depth++) {
+                assertEquals(reference.getExpectedNodes(depth), Perft.perft(position, depth, true), reference + " depth " + depth);
+            }
+            assertEquals(reference.getExpectedNodes(3), Perft.perft(position, 3, false), reference + " without bulk counting");
+        }
+    }
+
+    @Test
+    public void testBoardPerft() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            for (int depth = 1; depth <= 3; depth++) {
+                assertEquals(reference.getExpectedNodes(depth), Perft.perft(board, depth, true), reference + " depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    public void testDivideAddsUpToPerft() {
+        final Perft.ReferencePosition kiwipete = Perft.REFERENCE_POSITIONS.get(1);
+        final Board board = FenUtilities.createGameFromFEN(kiwipete.getFen());
+        long boardTotal = 0, positionTotal = 0;
+        for (final long nodes : Perft.divide(board, 2).values()) boardTotal += nodes;
+        for (final long nodes : Perft.divide(SearchPosition.fromBoard(board), 2).values()) positionTotal += nodes;
+        assertEquals(kiwipete.getExpectedNodes(2), boardTotal);
+        assertEquals(kiwipete.getExpectedNodes(2), positionTotal);
+        assertEquals(Perft.divide(board, 2), Perft.divide(SearchPosition.fromBoard(board), 2));
+    }
+}
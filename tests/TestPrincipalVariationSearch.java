@@ -0,0 +1,53 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.CompositeMoveOrdering;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.SearchOptions;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.engine.player.ai.TimeControl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPrincipalVariationSearch {
+
+    @Test
+    public void testSameMoveAsFullWindows() {
+        long researches = 0;
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            final AlphaBeta alphaBeta = new AlphaBeta(4);
+            final AlphaBeta pvs = new AlphaBeta(4, CompositeMoveOrdering.standard(), null,
+                    new SearchOptions.Builder().setPrincipalVariationSearch(true).build());
+            assertEquals(alphaBeta.execute(board), pvs.execute(board), reference.getName());
+            researches += pvs.getStatistics().getPrincipalVariationResearches();
+        }
+        assertTrue(researches > 0);
+    }
+
+    @Test
+    public void testNarrowWindowIsWidened() {
+        final SearchOptions fullWindow = new SearchOptions.Builder().setPrincipalVariationSearch(true).build();
+        final SearchOptions narrow = fullWindow.toBuilder().setAspirationWindow(1).setAspirationWidening(2).build();
+        long failures = 0;
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            final IterativeDeepening expected = new IterativeDeepening(4, TimeControl.unlimited(), null, fullWindow);
+            final IterativeDeepening aspiration = new IterativeDeepening(4, TimeControl.unlimited(), null, narrow);
+            assertEquals(expected.execute(board), aspiration.execute(board), reference.getName());
+            final SearchStatistics statistics = aspiration.getStatistics();
+            failures += statistics.getAspirationFailHighs() + statistics.getAspirationFailLows();
+        }
+        assertTrue(failures > 0);
+    }
+
+    @Test
+    public void testWideningMustGrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchOptions.Builder().setAspirationWidening(1));
+        assertThrows(IllegalArgumentException.class, () -> new SearchOptions.Builder().setAspirationWindow(-1));
+    }
+}
@@ -0,0 +1,52 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.StaticExchange;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.CompositeMoveOrdering;
+import com.chess.engine.player.ai.SearchOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class TestQuiescence {
+
+    @Test
+    public void testStaticExchange() {
+        // an undefended pawn
+        assertEquals(100, exchange("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5"));
+        // a pawn defended by a pawn, taken with the queen
+        assertEquals(100 - 900, exchange("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", "d1d5"));
+        // the rook behind the first one joins in once it has taken
+        assertEquals(500, exchange("3rk3/8/8/3r4/8/8/3R4/3RK3 w - - 0 1", "d2d5"));
+        // the king cannot take back while the square is still covered
+        assertEquals(100, exchange("8/8/3k4/3p4/8/3R4/8/3RK3 w - - 0 1", "d3d5"));
+        // a quiet move onto a square the opponent controls
+        assertEquals(-300, exchange("4k3/8/4p3/8/8/2N5/8/4K3 w - - 0 1", "c3d5"));
+    }
+
+    @Test
+    public void testSeesPastTheHorizon() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1");
+        final Move grab = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d1"),
+                BoardUtils.getCoordinateAtPosition("d5"));
+        assertEquals(grab, new AlphaBeta(1).execute(board));
+        assertNotEquals(grab, new AlphaBeta(1, CompositeMoveOrdering.standard(), null, SearchOptions.standard()).execute(board));
+    }
+
+    private static int exchange(final String fen, final String move) {
+        final SearchPosition position = SearchPosition.fromBoard(FenUtilities.createGameFromFEN(fen));
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.toString(moves.get(i)).equals(move)) return StaticExchange.evaluate(position, moves.get(i));
+        }
+        throw new IllegalArgumentException(move + " is not legal in " + fen);
+    }
+}
@@ -0,0 +1,123 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.LazySmp;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TimeControl;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSearchLimits {
+
+    private static final Board KIWIPETE = FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(1).getFen());
+
+    @Test
+    public void testDepthLimit() {
+        final IterativeDeepening search = new IterativeDeepening(TimeControl.unlimited());
+        search.execute(KIWIPETE, SearchLimits.depth(3));
+        assertEquals(3, search.getDepthReached());
+    }
+
+    @Test
+    public void testNodeLimit() {
+        final IterativeDeepening search = new IterativeDeepening(TimeControl.unlimited());
+        final Move move = search.execute(KIWIPETE, SearchLimits.nodes(20_000));
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(move));
+        assertTrue(search.getNodesSearched() <= 20_000, "searched " + search.getNodesSearched());
+        assertTrue(search.getDepthReached() >= 1);
+    }
+
+    @Test
+    public void testStopEndsInfiniteSearch() throws Exception {
+        // an infinite search that is not stopped only returns once the deepest iteration there is has finished
+        final IterativeDeepening iterativeDeepening = new IterativeDeepening(TimeControl.unlimited());
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(stopWhileSearching(iterativeDeepening)));
+        assertTrue(iterativeDeepening.getDepthReached() < IterativeDeepening.MAX_DEPTH);
+
+        final LazySmp lazySmp = new LazySmp(2, IterativeDeepening.MAX_DEPTH, TimeControl.unlimited(), new TranspositionTable(1));
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(stopWhileSearching(lazySmp)));
+        assertTrue(lazySmp.getDepthReached() < IterativeDeepening.MAX_DEPTH);
+        lazySmp.shutdown();
+    }
+
+    @Test
+    public void testFixedDepthSearchesHonourLimits() throws Exception {
+        // at this depth either would search for minutes if nothing cut it short
+        final AlphaBeta alphaBeta = new AlphaBeta(8);
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(stopWhileSearching(alphaBeta)));
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(alphaBeta.execute(KIWIPETE, SearchLimits.nodes(20_000))));
+        assertTrue(alphaBeta.getNodesSearched() <= 20_000, "searched " + alphaBeta.getNodesSearched());
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(alphaBeta.execute(KIWIPETE, SearchLimits.time(TimeControl.fixed(100)))));
+
+        final ParallelAlphaBeta parallel = new ParallelAlphaBeta(8, 2);
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(stopWhileSearching(parallel)));
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(parallel.execute(KIWIPETE, SearchLimits.nodes(20_000))));
+        assertTrue(parallel.getNodesSearched() <= 20_000, "searched " + parallel.getNodesSearched());
+        parallel.shutdown();
+
+        // a shallower limit is a full search to that depth
+        assertEquals(new AlphaBeta(3).execute(KIWIPETE), alphaBeta.execute(KIWIPETE, SearchLimits.depth(3)));
+    }
+
+    @Test
+    public void testStopBeforeSearchIsIgnored() {
+        final IterativeDeepening search = new IterativeDeepening(TimeControl.unlimited());
+        search.stop();
+        assertTrue(KIWIPETE.getCurrentPlayer().isMoveLegal(search.execute(KIWIPETE, SearchLimits.depth(2))));
+        assertEquals(2, search.getDepthReached());
+
+        // a stop left over from the last move must not cut the next one short
+        final LazySmp lazySmp = new LazySmp(2, IterativeDeepening.MAX_DEPTH, TimeControl.unlimited(), new TranspositionTable(1));
+        lazySmp.execute(KIWIPETE, SearchLimits.depth(1));
+        lazySmp.stop();
+        lazySmp.execute(KIWIPETE, SearchLimits.depth(3));
+        assertEquals(3, lazySmp.getDepthReached());
+        lazySmp.shutdown();
+    }
+
+    @Test
+    public void testLimits() {
+        assertTrue(SearchLimits.infinite().isInfinite());
+        assertTrue(!SearchLimits.depth(5).isInfinite());
+        assertEquals(1000L, SearchLimits.time(TimeControl.fixed(1000)).toBuilder().setMaxDepth(4).build()
+                .getTimeControl().getBudgetMillis());
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.depth(0));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.nodes(0));
+    }
+
+    // starts an infinite search and stops it a little later; the request is repeated until the search returns, in
+    // case the first one came before it had started, and only a search that never stops fails
+    private static Move stopWhileSearching(final MoveStrategy strategy) throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Move> result = executor.submit(() -> strategy.execute(KIWIPETE, SearchLimits.infinite()));
+            Thread.sleep(300);
+            final long giveUpAt = System.currentTimeMillis() + 30_000;
+            while (true) {
+                strategy.stop();
+                try {
+                    return result.get(100, TimeUnit.MILLISECONDS);
+                } catch (final TimeoutException e) {
+                    if (System.currentTimeMillis() > giveUpAt) throw e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.pieces.Piece.PieceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSearchPosition {
+
+    private static final String EN_PASSANT = "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 3";
+
+    @Test
+    public void testMakeUnmakeRoundTrip() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            roundTrip(position(reference.getFen()), 2, reference.getName());
+        }
+        roundTrip(position(EN_PASSANT), 2, "en passant");
+    }
+
+    @Test
+    public void testCaptureIsRestored() {
+        final SearchPosition position = position(Perft.REFERENCE_POSITIONS.get(1).getFen());
+        final int move = find(position, "e5", "f7");
+        assertTrue(PackedMove.isCapture(move));
+
+        assertTrue(position.makeMove(move));
+        assertEquals(BitBoards.pieceIndex(Alliance.WHITE, PieceType.KNIGHT), position.getPieceIndex(square("f7")));
+        position.unmakeMove(move);
+        assertEquals(BitBoards.pieceIndex(Alliance.BLACK, PieceType.PAWN), position.getPieceIndex(square("f7")));
+        assertEquals(BitBoards.pieceIndex(Alliance.WHITE, PieceType.KNIGHT), position.getPieceIndex(square("e5")));
+    }
+
+    @Test
+    public void testCastlingRightsAreRestored() {
+        final SearchPosition position = position(Perft.REFERENCE_POSITIONS.get(1).getFen());
+        final int castle = find(position, "e1", "g1");
+        assertEquals(PackedMove.KING_SIDE_CASTLE, PackedMove.getFlag(castle));
+
+        assertTrue(position.makeMove(castle));
+        assertEquals(SearchPosition.BLACK_KING_SIDE | SearchPosition.BLACK_QUEEN_SIDE, position.getCastlingRights());
+        assertEquals(BitBoards.pieceIndex(Alliance.WHITE, PieceType.ROOK), position.getPieceIndex(square("f1")));
+        position.unmakeMove(castle);
+        assertEquals(SearchPosition.WHITE_KING_SIDE | SearchPosition.WHITE_QUEEN_SIDE
+                | SearchPosition.BLACK_KING_SIDE | SearchPosition.BLACK_QUEEN_SIDE, position.getCastlingRights());
+        assertEquals(BitBoards.pieceIndex(Alliance.WHITE, PieceType.ROOK), position.getPieceIndex(square("h1")));
+    }
+
+    @Test
+    public void testEnPassantIsRestored() {
+        final SearchPosition position = position(EN_PASSANT);
+        final long key = position.getZobristKey();
+        final int capture = find(position, "e5", "d6");
+        assertEquals(PackedMove.EN_PASSANT, PackedMove.getFlag(capture));
+
+        assertTrue(position.makeMove(capture));
+        assertEquals(SearchPosition.EMPTY_SQUARE, position.getPieceIndex(square("d5")));
+        assertEquals(SearchPosition.NO_SQUARE, position.getEnPassantSquare());
+        position.unmakeMove(capture);
+        assertEquals(BitBoards.pieceIndex(Alliance.BLACK, PieceType.PAWN), position.getPieceIndex(square("d5")));
+        assertEquals(square("d6"), position.getEnPassantSquare());
+        assertEquals(key, position.getZobristKey());
+    }
+
+    // every legal move, and every reply to it, leaves the position exactly as it found it once taken back
+    private static void roundTrip(final SearchPosition position, final int depth, final String name) {
+        if (depth == 0) return;
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            final String before = describe(position);
+            final int move = moves.get(i);
+            assertTrue(position.makeMove(move), name + " " + PackedMove.toString(move));
+            roundTrip(position, depth - 1, name);
+            position.unmakeMove(move);
+            assertEquals(before, describe(position), name + " " + PackedMove.toString(move));
+        }
+    }
+
+    private static String describe(final SearchPosition position) {
+        return position + " " + position.getSideToMove() + " " + position.getCastlingRights() + " "
+                + position.getEnPassantSquare() + " " + position.getZobristKey() + " " + position.getOccupancy() + " "
+                + position.getOccupancy(Alliance.WHITE) + " " + position.getPly();
+    }
+
+    private static int find(final SearchPosition position, final String from, final String to) {
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.getFrom(moves.get(i)) == square(from) && PackedMove.getTo(moves.get(i)) == square(to)) {
+                return moves.get(i);
+            }
+        }
+        throw new AssertionError(from + to + " is not legal");
+    }
+
+    private static SearchPosition position(final String fen) {
+        return SearchPosition.fromBoard(FenUtilities.createGameFromFEN(fen));
+    }
+
+    private static int square(final String name) {
+        return BoardUtils.getCoordinateAtPosition(name);
+    }
+}
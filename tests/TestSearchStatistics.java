@@ -0,0 +1,139 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.SearchMetrics;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.engine.player.ai.TimeControl;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSearchStatistics {
+
+    private static final Board KIWIPETE = FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(1).getFen());
+
+    @Test
+    public void testStatisticsOfOneSearch() {
+        final IterativeDeepening search = new IterativeDeepening(TimeControl.unlimited());
+        search.execute(KIWIPETE, SearchLimits.depth(5));
+        final SearchStatistics statistics = search.getStatistics();
+
+        assertEquals(5, statistics.getDepth());
+        assertEquals(search.getNodesSearched(), statistics.getNodes());
+        assertTrue(statistics.getQuiescenceNodes() > 0 && statistics.getQuiescenceNodes() < statistics.getNodes());
+        assertTrue(statistics.getNodesPerSecond() > 0);
+        assertTrue(statistics.getEffectiveBranchingFactor() > 1);
+        assertTrue(statistics.getTranspositionHits() > 0);
+        assertTrue(statistics.getTranspositionHits() <= statistics.getTranspositionProbes());
+        assertEquals(5, statistics.getIterationMillis().length);
+
+        long iterationNodes = 0;
+        for (final long nodes : statistics.getIterationNodes()) iterationNodes += nodes;
+        assertEquals(statistics.getNodes(), iterationNodes);
+        final long[] cutoffs = statistics.getCutoffsByMoveIndex();
+        assertEquals(SearchStatistics.CUTOFF_RANKS, cutoffs.length);
+        assertTrue(cutoffs[0] > cutoffs[1], "first move cutoffs " + cutoffs[0] + ", second " + cutoffs[1]);
+    }
+
+    @Test
+    public void testListenerSeesEveryIteration() {
+        final List<SearchStatistics> iterations = new ArrayList<>();
+        final List<SearchStatistics> searches = new ArrayList<>();
+        final IterativeDeepening search = new IterativeDeepening(TimeControl.unlimited());
+        search.addSearchListener(new SearchListener() {
+            @Override
+            public void iterationFinished(final SearchStatistics statistics) {
+                iterations.add(statistics);
+            }
+
+            @Override
+            public void searchFinished(final SearchStatistics statistics) {
+                searches.add(statistics);
+            }
+        });
+        search.execute(KIWIPETE, SearchLimits.depth(4));
+
+        assertEquals(4, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            assertEquals(i + 1, iterations.get(i).getDepth());
+            assertTrue(iterations.get(i).getPrincipalVariation().length > 0);
+        }
+        assertEquals(1, searches.size());
+        assertEquals(search.getNodesSearched(), searches.get(0).getNodes());
+    }
+
+    @Test
+    public void testFixedDepthSearchesPublish() {
+        final List<SearchStatistics> searches = new ArrayList<>();
+        final SearchListener listener = new SearchListener() {
+            @Override
+            public void iterationFinished(final SearchStatistics statistics) {
+            }
+
+            @Override
+            public void searchFinished(final SearchStatistics statistics) {
+                searches.add(statistics);
+            }
+        };
+
+        final AlphaBeta alphaBeta = new AlphaBeta(4);
+        alphaBeta.addSearchListener(listener);
+        alphaBeta.execute(KIWIPETE);
+        assertEquals(alphaBeta.getNodesSearched(), alphaBeta.getStatistics().getNodes());
+        assertEquals(4, alphaBeta.getStatistics().getDepth());
+        assertTrue(alphaBeta.getStatistics().getNodesPerSecond() > 0);
+
+        final ParallelAlphaBeta parallel = new ParallelAlphaBeta(4, 2);
+        parallel.addSearchListener(listener);
+        parallel.execute(KIWIPETE);
+        parallel.shutdown();
+        assertEquals(parallel.getNodesSearched(), parallel.getStatistics().getNodes());
+        assertEquals(4, parallel.getStatistics().getDepth());
+        assertTrue(parallel.getStatistics().getCutoffsByMoveIndex()[0] > 0);
+
+        final MiniMax miniMax = new MiniMax(3);
+        miniMax.addSearchListener(listener);
+        miniMax.execute(KIWIPETE);
+        assertEquals(3, miniMax.getStatistics().getDepth());
+
+        assertEquals(3, searches.size());
+        assertEquals(alphaBeta.getNodesSearched(), searches.get(0).getNodes());
+        assertEquals(parallel.getNodesSearched(), searches.get(1).getNodes());
+        assertEquals(miniMax.getNodesSearched(), searches.get(2).getNodes());
+    }
+
+    @Test
+    public void testPublishedAsMBean() throws Exception {
+        final SearchMetrics metrics = SearchMetrics.register("test");
+        try {
+            final IterativeDeepening search = new IterativeDeepening(TimeControl.unlimited());
+            search.addSearchListener(metrics);
+            search.execute(KIWIPETE, SearchLimits.depth(3));
+            search.execute(KIWIPETE, SearchLimits.depth(3));
+
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(2L, server.getAttribute(metrics.getObjectName(), "Searches"));
+            assertEquals(3, server.getAttribute(metrics.getObjectName(), "Depth"));
+            assertEquals(search.getNodesSearched(), server.getAttribute(metrics.getObjectName(), "Nodes"));
+            assertSame(long[].class, server.getAttribute(metrics.getObjectName(), "CutoffsByMoveIndex").getClass());
+            assertTrue((Long) server.getAttribute(metrics.getObjectName(), "AverageNodesPerSecond") > 0);
+            assertEquals(search.getStatistics().getNullMoveCutoffs(), server.getAttribute(metrics.getObjectName(), "NullMoveCutoffs"));
+            assertEquals(search.getStatistics().getAspirationFailLows(), server.getAttribute(metrics.getObjectName(), "AspirationFailLows"));
+        } finally {
+            metrics.unregister();
+        }
+    }
+}
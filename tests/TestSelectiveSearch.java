@@ -0,0 +1,76 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.CompositeMoveOrdering;
+import com.chess.engine.player.ai.SearchOptions;
+import com.chess.engine.player.ai.SearchStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSelectiveSearch {
+
+    private static final SearchOptions QUIESCENCE_ONLY = new SearchOptions.Builder().setQuiescence(true).build();
+
+    @Test
+    public void testNullMoveRestoresPosition() {
+        final SearchPosition position = SearchPosition.fromBoard(
+                FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"));
+        final long key = position.getZobristKey();
+        final int enPassantSquare = position.getEnPassantSquare();
+        assertTrue(enPassantSquare != SearchPosition.NO_SQUARE);
+        position.makeNullMove();
+        assertEquals(SearchPosition.NO_SQUARE, position.getEnPassantSquare());
+        assertTrue(position.getSideToMove().isWhite());
+        position.unmakeNullMove();
+        assertEquals(key, position.getZobristKey());
+        assertTrue(position.getSideToMove().isBlack());
+        assertEquals(enPassantSquare, position.getEnPassantSquare());
+    }
+
+    @Test
+    public void testEachSwitchIsCounted() {
+        final Board board = FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(1).getFen());
+        assertTrue(search(board, QUIESCENCE_ONLY.toBuilder().setNullMove(true).build()).getNullMoveCutoffs() > 0);
+        assertTrue(search(board, QUIESCENCE_ONLY.toBuilder().setLateMoveReductions(true).build()).getLateMoveReductions() > 0);
+        assertTrue(search(board, QUIESCENCE_ONLY.toBuilder().setFutility(true).build()).getFutilityPrunes() > 0);
+        assertTrue(search(board, QUIESCENCE_ONLY.toBuilder().setRazoring(true).build()).getRazoringCutoffs() > 0);
+
+        final SearchStatistics none = search(board, QUIESCENCE_ONLY);
+        assertEquals(0, none.getNullMoveCutoffs());
+        assertEquals(0, none.getLateMoveReductions());
+        assertEquals(0, none.getFutilityPrunes());
+        assertEquals(0, none.getRazoringCutoffs());
+    }
+
+    @Test
+    public void testNoNullMoveWithOnlyPawns() {
+        final Board board = FenUtilities.createGameFromFEN("8/8/1p6/1P1k4/8/2K5/8/8 w - - 0 1");
+        assertEquals(0, search(board, SearchOptions.standard()).getNullMoveCutoffs());
+    }
+
+    @Test
+    public void testFewerNodesLegalMove() {
+        for (final Perft.ReferencePosition reference : Perft.REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(reference.getFen());
+            final AlphaBeta full = new AlphaBeta(5, CompositeMoveOrdering.standard(), null, QUIESCENCE_ONLY);
+            final AlphaBeta selective = new AlphaBeta(5, CompositeMoveOrdering.standard(), null, SearchOptions.standard());
+            final Move move = selective.execute(board);
+            assertTrue(board.getCurrentPlayer().isMoveLegal(move), reference.getName());
+            full.execute(board);
+            assertTrue(selective.getNodesSearched() < full.getNodesSearched(), reference.getName());
+        }
+    }
+
+    private static SearchStatistics search(final Board board, final SearchOptions options) {
+        final AlphaBeta alphaBeta = new AlphaBeta(5, CompositeMoveOrdering.standard(), null, options);
+        alphaBeta.execute(board);
+        assertFalse(alphaBeta.getNodesSearched() == 0);
+        return alphaBeta.getStatistics();
+    }
+}
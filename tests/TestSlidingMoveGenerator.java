@@ -0,0 +1,57 @@
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestSlidingMoveGenerator {
+
+    @Test
+    public void testMagicMatchesRayWalk() {
+        final Random random = new Random(42);
+        for (int game = 0; game < 10; game++) {
+            Board board = Board.createStandardBoard();
+            for (int ply = 0; ply < 80; ply++) {
+                for (final Piece p : Iterables.concat(board.getWhitePieces(), board.getBlackPieces())) {
+                    assertEquals(ImmutableSet.copyOf(rayMoves(p, board)), ImmutableSet.copyOf(magicMoves(p, board)),
+                            p + " on " + p.getPiecePosition() + "\n" + board);
+                }
+
+                final List<Move> moves = new ArrayList<>(board.getCurrentPlayer().getLegalMoves());
+                MoveTransition transition = null;
+                while (!moves.isEmpty()) {
+                    transition = board.getCurrentPlayer().makeMove(moves.remove(random.nextInt(moves.size())));
+                    if (transition.getMoveStatus().isDone()) break;
+                }
+                if (transition == null || !transition.getMoveStatus().isDone()) break;
+                board = transition.getTransitionBoard();
+            }
+        }
+    }
+
+    private static Collection<Move> rayMoves(final Piece p, final Board board) {
+        if (p instanceof Rook) return ((Rook) p).calculateRayMoves(board);
+        if (p instanceof Bishop) return ((Bishop) p).calculateRayMoves(board);
+        if (p instanceof Queen) return ((Queen) p).calculateRayMoves(board);
+        return p.calculateLegalMoves(board);
+    }
+
+    private static Collection<Move> magicMoves(final Piece p, final Board board) {
+        if (p instanceof Rook) return ((Rook) p).calculateMagicMoves(board);
+        if (p instanceof Bishop) return ((Bishop) p).calculateMagicMoves(board);
+        if (p instanceof Queen) return ((Queen) p).calculateMagicMoves(board);
+        return p.calculateLegalMoves(board);
+    }
+}
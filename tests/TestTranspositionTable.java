@@ -0,0 +1,93 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Perft;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.TimeControl;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTranspositionTable {
+
+    @Test
+    public void testStoreAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1);
+        assertEquals(1 << 16, table.getCapacity());
+        table.store(0x1234_5678_9ABC_DEF0L, 0xABCDEF, -123456, 17, TranspositionTable.LOWER_BOUND);
+
+        final long entry = table.probe(0x1234_5678_9ABC_DEF0L);
+        assertEquals(0xABCDEF, TranspositionTable.getMove(entry));
+        assertEquals(-123456, TranspositionTable.getScore(entry));
+        assertEquals(17, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(0x1234_5678_9ABC_DEF1L));
+        assertEquals(0.5, table.getHitRate());
+    }
+
+    @Test
+    public void testDepthPreferredReplacement() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long deep = 42L, shallow = 42L + (1L << 32), newest = 42L + (2L << 32);
+        table.store(deep, 1, 10, 8, TranspositionTable.EXACT);
+        table.store(shallow, 2, 20, 2, TranspositionTable.EXACT);
+        table.store(newest, 3, 30, 1, TranspositionTable.EXACT);
+
+        assertEquals(8, TranspositionTable.getDepth(table.probe(deep)));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(shallow));
+        assertEquals(30, TranspositionTable.getScore(table.probe(newest)));
+
+        table.newSearch();
+        table.store(shallow, 2, 20, 2, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(deep));
+    }
+
+    // writers race on one bucket; a reader may miss but must never see data stored under another key
+    @Test
+    public void testTornEntriesAreMisses() throws InterruptedException {
+        final TranspositionTable table = new TranspositionTable(1);
+        final AtomicBoolean done = new AtomicBoolean();
+        final Thread[] writers = new Thread[2];
+        for (int w = 0; w < writers.length; w++) {
+            final int writer = w;
+            writers[w] = new Thread(() -> {
+                for (int i = 0; !done.get(); i++) {
+                    final long key = 7L + ((long) (i % 64 + writer * 64) << 32);
+                    table.store(key, (int) (key >>> 32), (int) (key >>> 32), 1, TranspositionTable.EXACT);
+                }
+            });
+            writers[w].start();
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            final long key = 7L + ((long) (i % 128) << 32);
+            final long entry = table.probe(key);
+            if (entry != TranspositionTable.NO_ENTRY) {
+                assertEquals((int) (key >>> 32), TranspositionTable.getMove(entry));
+                assertEquals((int) (key >>> 32), TranspositionTable.getScore(entry));
+            }
+        }
+        done.set(true);
+        for (final Thread writer : writers) writer.join();
+    }
+
+    @Test
+    public void testSearchUsesTable() {
+        final Board board = FenUtilities.createGameFromFEN(Perft.REFERENCE_POSITIONS.get(1).getFen());
+        final IterativeDeepening withoutTable = new IterativeDeepening(5, TimeControl.unlimited(), null);
+        withoutTable.execute(board);
+
+        final TranspositionTable table = new TranspositionTable(4);
+        final IterativeDeepening withTable = new IterativeDeepening(5, TimeControl.unlimited(), table);
+        final Move move = withTable.execute(board);
+        assertTrue(board.getCurrentPlayer().isMoveLegal(move));
+        assertTrue(table.getHits() > 0);
+        assertTrue(table.getFillRate() > 0);
+        assertTrue(withTable.getNodesSearched() < withoutTable.getNodesSearched());
+        assertFalse(table.getHitRate() > 1);
+    }
+}
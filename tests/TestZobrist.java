@@ -0,0 +1,62 @@
+import com.chess.PGN.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.SearchPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.chess.engine.board.Move.MoveFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class TestZobrist {
+
+    @Test
+    public void testTranspositionsShareKey() {
+        final Board start = Board.createStandardBoard();
+        Board board = start;
+        for (final String[] move : new String[][] {{"g1", "f3"}, {"g8", "f6"}, {"f3", "g1"}, {"f6", "g8"}}) {
+            board = play(board, move[0], move[1]);
+        }
+        assertEquals(start.getZobristKey(), board.getZobristKey());
+        assertEquals(start, board);
+
+        final Board e3d3 = play(play(play(start, "e2", "e3"), "d7", "d6"), "d2", "d3");
+        final Board d3e3 = play(play(play(start, "d2", "d3"), "d7", "d6"), "e2", "e3");
+        assertEquals(e3d3, d3e3);
+        assertEquals(e3d3.hashCode(), d3e3.hashCode());
+        // same pieces and side to move, but only one of them allows en passant
+        final Board jumped = play(start, "e2", "e4");
+        final Board noEnPassant = FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        assertEquals(FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"), jumped);
+        assertNotEquals(jumped.getZobristKey(), noEnPassant.getZobristKey());
+        assertNotEquals(jumped, noEnPassant);
+    }
+
+    @Test
+    public void testIncrementalKeyMatchesScratchKey() {
+        final Random random = new Random(9);
+        for (int game = 0; game < 10; game++) {
+            Board board = Board.createStandardBoard();
+            for (int ply = 0; ply < 120; ply++) {
+                final List<Move> moves = new ArrayList<>(board.getCurrentPlayer().getLegalMoves());
+                if (moves.isEmpty()) break;
+                final Move move = moves.get(random.nextInt(moves.size()));
+                final SearchPosition position = SearchPosition.fromBoard(board);
+                position.makeMove(move.toPackedMove());
+                board = board.getCurrentPlayer().makeMove(move).getTransitionBoard();
+                assertEquals(SearchPosition.fromBoard(board).getZobristKey(), board.getZobristKey(), move.toString());
+                assertEquals(board.getZobristKey(), position.getZobristKey(), move.toString());
+            }
+        }
+    }
+
+    private static Board play(final Board board, final String from, final String to) {
+        return board.getCurrentPlayer().makeMove(MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition(from), BoardUtils.getCoordinateAtPosition(to))).getTransitionBoard();
+    }
+}